@@ -0,0 +1,39 @@
+package com.studyspotfinder.bench;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.studyspotfinder.model.SpotRatingSummary;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.StudySpotHours;
+
+/** Realistic in-memory spots for benchmarks: split weekday hours, a late Saturday, coordinates. */
+final class BenchFixtures {
+
+    private BenchFixtures() {}
+
+    static StudySpot spot(long id) {
+        StudySpot spot = new StudySpot("Spot " + id, id + " University Ave", null);
+        spot.setId(id);
+        spot.setType(id % 3 == 0 ? "Cafe" : "Library");
+        spot.setLatitude(34.0 + (id % 1000) * 0.0001);
+        spot.setLongitude(-118.3 + (id / 1000) * 0.0001);
+        spot.setImageUrl("https://studyspot.online/img/" + id + ".jpg");
+        List<StudySpotHours> hours = new ArrayList<>();
+        for (int day = 1; day <= 5; day++) {
+            hours.add(new StudySpotHours(spot, day, LocalTime.of(8, 30), LocalTime.of(12, 0)));
+            hours.add(new StudySpotHours(spot, day, LocalTime.of(13, 0), LocalTime.of(22, 45)));
+        }
+        hours.add(new StudySpotHours(spot, 6, LocalTime.of(10, 0), LocalTime.of(2, 0)));
+        spot.setHours(hours);
+        spot.compileHours();
+        return spot;
+    }
+
+    static SpotRatingSummary summary(long spotId) {
+        SpotRatingSummary summary = new SpotRatingSummary(spotId);
+        summary.setHistogram(new int[] { 1, 0, 2, (int) (spotId % 7), 5 });
+        return summary;
+    }
+}
@@ -0,0 +1,104 @@
+package com.studyspotfinder.bench;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.studyspotfinder.model.HoursFormatter;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.StudySpotHours;
+
+/**
+ * Per-spot cost of the hours string on the response path: the previous per-request
+ * formatting versus rendering once at save time and reading the stored value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HoursFormattingBenchmark {
+
+    private StudySpot spot;
+    private List<StudySpotHours> hours;
+
+    @Setup
+    public void setUp() {
+        spot = new StudySpot("Library", "1 Campus Dr", null);
+        hours = new ArrayList<>();
+        for (int day = 1; day <= 5; day++) {
+            hours.add(new StudySpotHours(spot, day, LocalTime.of(8, 30), LocalTime.of(12, 0)));
+            hours.add(new StudySpotHours(spot, day, LocalTime.of(13, 0), LocalTime.of(22, 45)));
+        }
+        hours.add(new StudySpotHours(spot, 6, LocalTime.of(10, 0), LocalTime.of(2, 0)));
+        spot.setHours(hours);
+        spot.compileHours();
+    }
+
+    // Before: what every response paid per spot
+    @Benchmark
+    public String perRequestFormatting() {
+        return legacyFormat(hours);
+    }
+
+    // Render step now paid once per save
+    @Benchmark
+    public String renderOnSave() {
+        return HoursFormatter.format(hours);
+    }
+
+    // After: what a response pays per spot
+    @Benchmark
+    public String cachedRead() {
+        return spot.getHoursFormatted();
+    }
+
+    // The formatting StudySpot.getHoursFormatted() used to run on every call
+    private static String legacyFormat(List<StudySpotHours> hours) {
+        Map<Integer, String> dayNames = Map.of(
+                0, "sunday", 1, "monday", 2, "tuesday", 3, "wednesday",
+                4, "thursday", 5, "friday", 6, "saturday");
+        StringBuilder sb = new StringBuilder();
+        for (int dow = 0; dow <= 6; dow++) {
+            String day = dayNames.get(dow);
+            StringBuilder ranges = new StringBuilder();
+            for (StudySpotHours h : hours) {
+                if (h.getDayOfWeek() == dow) {
+                    if (ranges.length() > 0) ranges.append(", ");
+                    ranges.append(legacyAmPm(h.getOpenTime())).append("-").append(legacyAmPm(h.getCloseTime()));
+                }
+            }
+            if (ranges.length() > 0) {
+                if (sb.length() > 0) sb.append(", ");
+                sb.append(day).append(": ").append(ranges);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String legacyAmPm(LocalTime t) {
+        int hour = t.getHour();
+        int minute = t.getMinute();
+        String ampm = hour >= 12 ? "pm" : "am";
+        int hr12 = hour % 12;
+        if (hr12 == 0) hr12 = 12;
+        if (minute == 0) {
+            return hr12 + ampm;
+        }
+        return hr12 + ":" + String.format("%02d", minute) + ampm;
+    }
+}
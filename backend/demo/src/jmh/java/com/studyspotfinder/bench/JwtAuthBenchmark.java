@@ -0,0 +1,91 @@
+package com.studyspotfinder.bench;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.studyspotfinder.security.JwtService;
+import com.studyspotfinder.security.VerifiedToken;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Token handling cost of one authenticated request that also resolves the user in the
+ * controller: the previous six parses (filter + resolver, each rebuilding key and parser)
+ * versus a single verification with a prebuilt parser, and a verified-cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "benchmark-secret-that-is-at-least-32-characters-long";
+
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtService(SECRET, 24, 0);
+        cached = new JwtService(SECRET, 24, 10_000);
+        token = cached.generateToken("jane@example.com");
+        cached.verify(token);
+    }
+
+    // Before: extractSubject + isTokenValid in the filter, then again in AuthTokenUserResolver
+    @Benchmark
+    public boolean legacyPerRequest() {
+        boolean valid = true;
+        for (int pass = 0; pass < 2; pass++) {
+            String subject = legacyClaims(token).getSubject();
+            valid &= legacyClaims(token).getSubject().equals(subject)
+                    && legacyClaims(token).getExpiration().after(new Date());
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken("jane@example.com");
+    }
+
+    // Subject of an already verified token (cache hit)
+    @Benchmark
+    public String extractSubject() {
+        return cached.extractSubject(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyOnce() {
+        return uncached.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cached.verify(token).orElseThrow();
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,67 @@
+package com.studyspotfinder.bench;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.studyspotfinder.index.SpotAutocompleteIndex;
+import com.studyspotfinder.index.SpotSuggestion;
+
+/**
+ * Per-keystroke suggestion cost over 100k spots, from a one-letter prefix (huge range) to a
+ * nearly complete name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpotAutocompleteBenchmark {
+
+    private static final String[] WORDS = { "north", "south", "library", "lab", "lounge", "cafe", "commons",
+            "court", "hall", "house", "garden", "tower", "annex", "center", "reading", "study" };
+
+    @Param({ "100000" })
+    public int spots;
+
+    @Param({ "l", "lib", "library r" })
+    public String prefix;
+
+    private SpotAutocompleteIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        List<SpotSuggestion> suggestions = new ArrayList<>(spots);
+        Map<Long, Long> popularity = new HashMap<>();
+        for (long id = 0; id < spots; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+            suggestions.add(new SpotSuggestion(id, name, id % 3 == 0 ? "Cafe" : "Library"));
+            popularity.put(id, (long) random.nextInt(200));
+        }
+        index = new SpotAutocompleteIndex(null, null, Duration.ofMinutes(5));
+        index.replace(suggestions, popularity);
+    }
+
+    @Benchmark
+    public List<SpotSuggestion> suggest() {
+        return index.suggest(prefix, 8);
+    }
+}
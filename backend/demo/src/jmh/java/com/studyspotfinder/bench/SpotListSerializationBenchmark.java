@@ -0,0 +1,81 @@
+package com.studyspotfinder.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.studyspotfinder.controller.StudySpotController.StudySpotResponse;
+import com.studyspotfinder.model.SpotRatingSummary;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.WeeklySchedule;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * GET /api/spots body cost by catalog size: building the responses from loaded entities and
+ * serializing them with Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SpotListSerializationBenchmark {
+
+    @Param({ "100", "10000", "100000" })
+    public int spots;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private List<BenchSpot> catalog;
+    private List<StudySpotResponse> responses;
+
+    @Setup
+    public void setUp() {
+        int now = WeeklySchedule.currentMinuteOfWeek();
+        catalog = new ArrayList<>(spots);
+        responses = new ArrayList<>(spots);
+        for (long id = 1; id <= spots; id++) {
+            BenchSpot entry = new BenchSpot(id);
+            catalog.add(entry);
+            responses.add(StudySpotResponse.fromEntity(entry.spot, entry.summary, now));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() {
+        int now = WeeklySchedule.currentMinuteOfWeek();
+        List<StudySpotResponse> body = new ArrayList<>(catalog.size());
+        for (BenchSpot entry : catalog) {
+            body.add(StudySpotResponse.fromEntity(entry.spot, entry.summary, now));
+        }
+        return mapper.writeValueAsBytes(body);
+    }
+
+    private static final class BenchSpot {
+        final StudySpot spot;
+        final SpotRatingSummary summary;
+
+        BenchSpot(long id) {
+            this.spot = BenchFixtures.spot(id);
+            this.summary = BenchFixtures.summary(id);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.studyspotfinder.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.studyspotfinder.controller.StudySpotController.StudySpotResponse;
+import com.studyspotfinder.model.SpotRatingSummary;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.WeeklySchedule;
+
+/**
+ * Per-spot work on the listing path: the open check, the stored hours string and building
+ * the response object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpotResponseBenchmark {
+
+    private StudySpot spot;
+    private SpotRatingSummary summary;
+    private int now;
+
+    @Setup
+    public void setUp() {
+        spot = BenchFixtures.spot(42);
+        summary = BenchFixtures.summary(42);
+        now = WeeklySchedule.currentMinuteOfWeek();
+    }
+
+    // Includes reading the clock and converting to campus time
+    @Benchmark
+    public boolean isOpenNow() {
+        return spot.isOpenNow();
+    }
+
+    // What list endpoints pay per spot: the clock is read once per request
+    @Benchmark
+    public boolean isOpenAt() {
+        return spot.isOpenAt(now);
+    }
+
+    @Benchmark
+    public String getHoursFormatted() {
+        return spot.getHoursFormatted();
+    }
+
+    @Benchmark
+    public StudySpotResponse fromEntity() {
+        return StudySpotResponse.fromEntity(spot, summary, now);
+    }
+}
@@ -0,0 +1,87 @@
+package com.studyspotfinder.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.studyspotfinder.index.SearchHit;
+import com.studyspotfinder.index.SpotSearchIndex;
+
+/**
+ * Text search over 100k spots: common two-word queries, a rare word, and a short prefix as
+ * typed into the search box. Spots are added one by one, so the segment merging is exercised too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpotSearchBenchmark {
+
+    private static final String[] COMMON = { "library", "cafe", "quiet", "study", "room", "lounge", "outlets",
+            "coffee", "late", "group", "hall", "garden", "window", "floor", "open" };
+
+    @Param({ "100000" })
+    public int spots;
+
+    private SpotSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        index = new SpotSearchIndex(null);
+        for (int i = 0; i < spots; i++) {
+            index.put(i, "Spot " + word(random) + " " + COMMON[random.nextInt(COMMON.length)],
+                    i % 3 == 0 ? "Cafe" : "Library",
+                    sentence(random, 12), random.nextInt(4) == 0 ? sentence(random, 6) : null);
+        }
+    }
+
+    @Benchmark
+    public List<SearchHit> twoCommonWords() {
+        return index.search("quiet library", 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> rareWord() {
+        return index.search("zorvak", 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> typedPrefix() {
+        return index.search("study ro", 20);
+    }
+
+    // Pseudo-words from a 20k vocabulary, so most terms are rare and a few are very common
+    private static String word(Random random) {
+        int n = random.nextInt(20_000);
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < 3; k++) {
+            sb.append("bcdfgklmnprstvz".charAt(n % 15)).append("aeiou".charAt((n / 15) % 5));
+            n /= 75;
+        }
+        return sb.append('k').toString();
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) sb.append(' ');
+            sb.append(random.nextBoolean() ? COMMON[random.nextInt(COMMON.length)] : word(random));
+        }
+        return sb.toString();
+    }
+}
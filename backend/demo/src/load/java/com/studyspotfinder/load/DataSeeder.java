@@ -0,0 +1,132 @@
+package com.studyspotfinder.load;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyspotfinder.index.OpenHoursIndex;
+import com.studyspotfinder.index.SpotGeoIndex;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.StudySpotHours;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.service.RatingSummaryService;
+
+/**
+ * Fills the embedded database with a synthetic campus: users sharing one password, spots
+ * with varied hours around a campus center, reviews and favorites. Seeding uses the same
+ * entities and summary rebuild as the application, then reloads the in-memory indexes.
+ */
+final class DataSeeder {
+
+    static final String PASSWORD = "load-test-password";
+    private static final int BATCH = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbc;
+    private final Random random;
+
+    DataSeeder(ConfigurableApplicationContext context, long seed) {
+        this.context = context;
+        this.jdbc = context.getBean(JdbcTemplate.class);
+        this.random = new Random(seed);
+    }
+
+    List<Long> seedUsers(int count) {
+        // One hash for everyone: seeding should not spend minutes in BCrypt
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] { "load" + i, email(i), hash });
+        }
+        batch("insert into users (username, email, password_hash) values (?, ?, ?)", rows);
+        return jdbc.queryForList("select user_id from users where email like '%@load.test' order by user_id", Long.class);
+    }
+
+    List<Long> seedSpots(int count) {
+        StudySpotRepository spots = context.getBean(StudySpotRepository.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        for (int from = 0; from < count; from += BATCH) {
+            int to = Math.min(count, from + BATCH);
+            List<StudySpot> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) chunk.add(spot(i));
+            tx.executeWithoutResult(status -> spots.saveAll(chunk));
+        }
+        return jdbc.queryForList("select spot_id from study_spots order by spot_id", Long.class);
+    }
+
+    void seedReviews(List<Long> userIds, List<Long> spotIds, int perSpot) {
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<Object[]> rows = new ArrayList<>();
+        for (Long spotId : spotIds) {
+            for (int r = 0; r < perSpot; r++) {
+                rows.add(new Object[] {
+                        userIds.get(random.nextInt(userIds.size())),
+                        spotId,
+                        1 + random.nextInt(5),
+                        random.nextInt(3) == 0 ? null : "Seeded review " + r,
+                        Timestamp.valueOf(start.plusMinutes(random.nextInt(365 * 24 * 60)))
+                });
+            }
+        }
+        batch("insert into reviews (user_id, spot_id, rating, comment, timestamp) values (?, ?, ?, ?, ?)", rows);
+        context.getBean(RatingSummaryService.class).rebuildAll();
+    }
+
+    void seedFavorites(List<Long> userIds, List<Long> spotIds, int perUser) {
+        List<Object[]> rows = new ArrayList<>();
+        int picks = Math.min(perUser, spotIds.size());
+        for (Long userId : userIds) {
+            int offset = random.nextInt(spotIds.size());
+            for (int f = 0; f < picks; f++) {
+                rows.add(new Object[] { userId, spotIds.get((offset + f) % spotIds.size()) });
+            }
+        }
+        batch("insert into favorites (user_id, spot_id) values (?, ?)", rows);
+    }
+
+    void reloadIndexes() {
+        context.getBean(SpotGeoIndex.class).load();
+        context.getBean(OpenHoursIndex.class).load();
+    }
+
+    static String email(int i) {
+        return "load" + i + "@load.test";
+    }
+
+    private StudySpot spot(int i) {
+        StudySpot spot = new StudySpot("Load Spot " + i, i + " Campus Way", "Seeded for load tests");
+        spot.setType(i % 4 == 0 ? "Cafe" : "Library");
+        spot.setLatitude(34.0224 + (random.nextDouble() - 0.5) * 0.05);
+        spot.setLongitude(-118.2851 + (random.nextDouble() - 0.5) * 0.05);
+        List<StudySpotHours> hours = new ArrayList<>();
+        int open = 6 + random.nextInt(5);
+        int close = 17 + random.nextInt(7);
+        for (int day = 0; day < 7; day++) {
+            if (day == 0 && i % 3 == 0) continue; // some spots close on Sundays
+            if (i % 10 == 0) {
+                // late-night spots run past midnight
+                hours.add(new StudySpotHours(spot, day, LocalTime.of(open, 0), LocalTime.of(2, 0)));
+            } else {
+                hours.add(new StudySpotHours(spot, day, LocalTime.of(open, 0), LocalTime.of(close, 30)));
+            }
+        }
+        spot.setHours(hours);
+        spot.compileHours();
+        return spot;
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH)));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.studyspotfinder.load;
+
+import java.util.Arrays;
+
+/** Per-worker latency samples for one endpoint (microseconds); merged after the run. */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long micros, boolean ok) {
+        if (size == samples.length) samples = Arrays.copyOf(samples, size * 2);
+        samples[size++] = micros;
+        if (!ok) errors++;
+    }
+
+    void mergeInto(LatencyRecorder target) {
+        for (int i = 0; i < size; i++) target.record(samples[i], true);
+        target.errors += errors;
+    }
+
+    int count() { return size; }
+    long errors() { return errors; }
+
+    // Sorted copy of the samples
+    long[] sorted() {
+        long[] copy = Arrays.copyOf(samples, size);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    static double percentileMillis(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+}
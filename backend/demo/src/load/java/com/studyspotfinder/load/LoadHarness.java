@@ -0,0 +1,295 @@
+package com.studyspotfinder.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import com.studyspotfinder.DemoApplication;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Boots the application on an in-memory H2 database (MySQL mode), seeds a synthetic dataset
+ * and drives a weighted mix of API calls from concurrent clients over real HTTP. Prints
+ * throughput, latency percentiles and SQL statements per request for each endpoint, and
+ * writes the same numbers as JSON.
+ * <p>
+ * Run with {@code mvn -Ploadtest test-compile exec:java}; every {@code -Dload.*} property
+ * below can be overridden, as can any application property (e.g. {@code -Dsecurity.bcrypt.strength=10}).
+ */
+public final class LoadHarness {
+
+    static final String LOGIN = "POST /api/auth/login";
+    static final String LIST_SPOTS = "GET /api/spots";
+    static final String SPOT_DETAIL = "GET /api/spots/{id}";
+    static final String LIST_REVIEWS = "GET /api/spots/{spotId}/reviews";
+    static final String SUBMIT_REVIEW = "POST /api/spots/{spotId}/reviews";
+    static final String LIST_FAVORITES = "GET /api/favorites";
+    static final String TOGGLE_FAVORITE = "POST /api/favorites";
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private final int users = Integer.getInteger("load.users", 500);
+    private final int spots = Integer.getInteger("load.spots", 2000);
+    private final int reviewsPerSpot = Integer.getInteger("load.reviews-per-spot", 10);
+    private final int favoritesPerUser = Integer.getInteger("load.favorites-per-user", 5);
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+    private final int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("load.duration-seconds", 30);
+    private final String mix = System.getProperty("load.mix",
+            "login=2,spots=15,detail=35,reviews=20,review=3,favorites=15,favorite=10");
+    private final Path report = Path.of(System.getProperty("load.report", "target/loadtest-report.json"));
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private String baseUrl;
+    private List<Long> userIds;
+    private List<Long> spotIds;
+
+    public static void main(String[] args) throws Exception {
+        new LoadHarness().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        StatementCountingFilter statementFilter = new StatementCountingFilter();
+        // Passed as command-line arguments so they win over application.properties
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + StatementCounter.class.getName(),
+                "--spring.datasource.hikari.maximum-pool-size=" + Math.max(10, concurrency / 2)));
+        arguments.addAll(List.of(args));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .initializers(ctx -> ((GenericApplicationContext) ctx)
+                        .registerBean("statementCountingFilter", StatementCountingFilter.class, () -> statementFilter))
+                .run(arguments.toArray(String[]::new));
+        try {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            long seedStart = System.nanoTime();
+            DataSeeder seeder = new DataSeeder(context, 42);
+            userIds = seeder.seedUsers(users);
+            spotIds = seeder.seedSpots(spots);
+            seeder.seedReviews(userIds, spotIds, reviewsPerSpot);
+            seeder.seedFavorites(userIds, spotIds, favoritesPerUser);
+            seeder.reloadIndexes();
+            System.out.printf("Seeded %d users, %d spots, %d reviews, %d favorites in %.1fs%n",
+                    users, spots, spots * reviewsPerSpot, users * favoritesPerUser,
+                    (System.nanoTime() - seedStart) / 1e9);
+
+            Map<String, LatencyRecorder> results = drive(statementFilter);
+            printAndWrite(results, statementFilter);
+        } finally {
+            context.close();
+        }
+    }
+
+    private Map<String, LatencyRecorder> drive(StatementCountingFilter statementFilter) throws Exception {
+        List<Op> ops = parseMix(mix);
+        long warmupEnd = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long end = warmupEnd + durationSeconds * 1_000_000_000L;
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<String, LatencyRecorder>>> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            int userIndex = w % userIds.size();
+            workers.add(pool.submit(() -> new Worker(userIndex).run(ops, warmupEnd, end)));
+        }
+        // Statement counts cover the measured window only
+        Thread.sleep(Math.max(0, (warmupEnd - System.nanoTime()) / 1_000_000));
+        statementFilter.clear();
+
+        Map<String, LatencyRecorder> merged = new LinkedHashMap<>();
+        for (Op op : ops) merged.put(op.endpoint, new LatencyRecorder());
+        for (Future<Map<String, LatencyRecorder>> worker : workers) {
+            worker.get().forEach((endpoint, recorder) -> recorder.mergeInto(merged.get(endpoint)));
+        }
+        pool.shutdown();
+        return merged;
+    }
+
+    private void printAndWrite(Map<String, LatencyRecorder> results, StatementCountingFilter statementFilter)
+            throws IOException {
+        System.out.printf("%nConcurrency %d, measured %ds%n", concurrency, durationSeconds);
+        System.out.printf("%-34s %9s %9s %8s %8s %8s %8s %7s %10s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors", "stmts/req");
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<String, LatencyRecorder> e : results.entrySet()) {
+            LatencyRecorder recorder = e.getValue();
+            long[] sorted = recorder.sorted();
+            double rps = recorder.count() / (double) durationSeconds;
+            double statements = statementFilter.statementsPerRequest(e.getKey());
+            total += recorder.count();
+            System.out.printf("%-34s %9d %9.1f %8.2f %8.2f %8.2f %8.2f %7d %10s%n",
+                    e.getKey(), recorder.count(), rps,
+                    LatencyRecorder.percentileMillis(sorted, 50),
+                    LatencyRecorder.percentileMillis(sorted, 90),
+                    LatencyRecorder.percentileMillis(sorted, 99),
+                    LatencyRecorder.percentileMillis(sorted, 100),
+                    recorder.errors(),
+                    statements < 0 ? "-" : String.format("%.2f", statements));
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", e.getKey());
+            row.put("requests", recorder.count());
+            row.put("throughput", rps);
+            row.put("p50Ms", LatencyRecorder.percentileMillis(sorted, 50));
+            row.put("p90Ms", LatencyRecorder.percentileMillis(sorted, 90));
+            row.put("p99Ms", LatencyRecorder.percentileMillis(sorted, 99));
+            row.put("maxMs", LatencyRecorder.percentileMillis(sorted, 100));
+            row.put("errors", recorder.errors());
+            row.put("statementsPerRequest", statements);
+            rows.add(row);
+        }
+        System.out.printf("%-34s %9d %9.1f%n", "total", total, total / (double) durationSeconds);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("users", users);
+        json.put("spots", spots);
+        json.put("reviewsPerSpot", reviewsPerSpot);
+        json.put("favoritesPerUser", favoritesPerUser);
+        json.put("concurrency", concurrency);
+        json.put("durationSeconds", durationSeconds);
+        json.put("mix", mix);
+        json.put("endpoints", rows);
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Files.writeString(report, JSON.writerWithDefaultPrettyPrinter().writeValueAsString(json));
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    private static List<Op> parseMix(String mix) {
+        Map<String, String> endpoints = Map.of(
+                "login", LOGIN, "spots", LIST_SPOTS, "detail", SPOT_DETAIL, "reviews", LIST_REVIEWS,
+                "review", SUBMIT_REVIEW, "favorites", LIST_FAVORITES, "favorite", TOGGLE_FAVORITE);
+        List<Op> ops = new ArrayList<>();
+        int cumulative = 0;
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            String endpoint = endpoints.get(kv[0]);
+            if (endpoint == null) throw new IllegalArgumentException("Unknown mix entry: " + kv[0]);
+            int weight = Integer.parseInt(kv[1]);
+            if (weight <= 0) continue;
+            cumulative += weight;
+            ops.add(new Op(endpoint, cumulative));
+        }
+        return ops;
+    }
+
+    private record Op(String endpoint, int upTo) {}
+
+    /** One simulated client: logs in once, then loops over the mix until the deadline. */
+    private final class Worker {
+
+        private final int userIndex;
+        private final Map<String, LatencyRecorder> recorders = new HashMap<>();
+        private final Map<String, String> etags = new HashMap<>();
+        private String token;
+
+        Worker(int userIndex) {
+            this.userIndex = userIndex;
+        }
+
+        Map<String, LatencyRecorder> run(List<Op> ops, long warmupEnd, long end) throws Exception {
+            for (Op op : ops) recorders.put(op.endpoint, new LatencyRecorder());
+            HttpResponse<String> login = login();
+            // The hashing pool may shed load while every worker logs in at once
+            for (int attempt = 0; login.statusCode() == 503 && attempt < 50; attempt++) {
+                Thread.sleep(100);
+                login = login();
+            }
+            token = JSON.readTree(login.body()).get("token").asString();
+
+            int totalWeight = ops.get(ops.size() - 1).upTo;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < end) {
+                int pick = random.nextInt(totalWeight);
+                Op op = ops.stream().filter(o -> pick < o.upTo).findFirst().orElseThrow();
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = call(op.endpoint, random).statusCode();
+                } catch (IOException ex) {
+                    status = -1;
+                }
+                long micros = (System.nanoTime() - start) / 1000;
+                if (start >= warmupEnd) {
+                    recorders.get(op.endpoint).record(micros, status >= 200 && status < 400);
+                }
+            }
+            return recorders;
+        }
+
+        private HttpResponse<String> call(String endpoint, ThreadLocalRandom random) throws Exception {
+            long spotId = spotIds.get(random.nextInt(spotIds.size()));
+            return switch (endpoint) {
+                case LOGIN -> login();
+                case LIST_SPOTS -> conditionalGet(LIST_SPOTS, "/api/spots");
+                case SPOT_DETAIL -> send(get("/api/spots/" + spotId));
+                case LIST_REVIEWS -> send(get("/api/spots/" + spotId + "/reviews?limit=20"));
+                case SUBMIT_REVIEW -> send(post("/api/spots/" + spotId + "/reviews",
+                        "{\"rating\":" + (1 + random.nextInt(5)) + ",\"comment\":\"load test\"}"));
+                case LIST_FAVORITES -> conditionalGet(LIST_FAVORITES, "/api/favorites");
+                case TOGGLE_FAVORITE -> send(post("/api/favorites",
+                        "{\"spotId\":" + spotId + ",\"favorite\":" + random.nextBoolean() + "}"));
+                default -> throw new IllegalStateException(endpoint);
+            };
+        }
+
+        private HttpResponse<String> login() throws Exception {
+            String body = "{\"email\":\"" + DataSeeder.email(userIndex) + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}";
+            return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+        }
+
+        // Polling clients keep the last ETag, as the mobile apps do
+        private HttpResponse<String> conditionalGet(String endpoint, String path) throws Exception {
+            HttpRequest.Builder request = get(path);
+            String etag = etags.get(endpoint);
+            if (etag != null) request.header("If-None-Match", etag);
+            HttpResponse<String> response = send(request);
+            response.headers().firstValue("ETag").ifPresent(value -> etags.put(endpoint, value));
+            return response;
+        }
+
+        private HttpRequest.Builder get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + token)
+                    .GET();
+        }
+
+        private HttpRequest.Builder post(String path, String json) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+            return http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.studyspotfinder.load;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Server-side half of the statement report: SQL statements per request, keyed by
+ * "METHOD /matched/{pattern}" so they line up with the client's endpoint labels.
+ */
+class StatementCountingFilter extends OncePerRequestFilter {
+
+    private final Map<String, LongAdder[]> totals = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String key = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            LongAdder[] counters = totals.computeIfAbsent(key, k -> new LongAdder[] { new LongAdder(), new LongAdder() });
+            counters[0].increment();
+            counters[1].add(StatementCounter.current());
+        }
+    }
+
+    void clear() {
+        totals.clear();
+    }
+
+    /** Mean statements per request for the endpoint, or -1 if the server never saw it. */
+    double statementsPerRequest(String endpoint) {
+        LongAdder[] counters = totals.get(endpoint);
+        if (counters == null || counters[0].sum() == 0) return -1;
+        return (double) counters[1].sum() / counters[0].sum();
+    }
+}
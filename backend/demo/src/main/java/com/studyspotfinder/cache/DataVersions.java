@@ -0,0 +1,84 @@
+package com.studyspotfinder.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.studyspotfinder.event.FavoriteChangedEvent;
+import com.studyspotfinder.event.ReviewSubmittedEvent;
+import com.studyspotfinder.event.SpotCreatedEvent;
+import com.studyspotfinder.event.SpotsImportedEvent;
+import com.studyspotfinder.event.SpotsRefreshedEvent;
+import com.studyspotfinder.index.OpenHoursIndex;
+
+/**
+ * Version stamps for the list endpoints, used as strong ETags so unchanged lists can be
+ * answered with 304 before anything is loaded.
+ * <p>
+ * Versions are bumped after commit, so a stamp read before loading a payload is never newer
+ * than the data behind it. A per-process nonce keeps stamps from repeating across restarts.
+ * Responses also carry isOpen, so the stamp includes the open-state epoch from the
+ * {@link OpenHoursIndex}: it only changes when some spot opens or closes.
+ */
+@Component
+public class DataVersions {
+
+    private final OpenHoursIndex openHoursIndex;
+    private final String nonce = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong spots = new AtomicLong();
+    // Favorites versions are drawn from one clock so a user's stamp never repeats
+    private final AtomicLong favoritesClock = new AtomicLong();
+    private final Map<Long, Long> favorites = new ConcurrentHashMap<>();
+
+    public DataVersions(OpenHoursIndex openHoursIndex) {
+        this.openHoursIndex = openHoursIndex;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotCreated(SpotCreatedEvent event) {
+        spots.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotsImported(SpotsImportedEvent event) {
+        spots.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        spots.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotsRefreshed(SpotsRefreshedEvent event) {
+        spots.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        favorites.put(event.getUserId(), favoritesClock.incrementAndGet());
+    }
+
+    public long spotsVersion() {
+        return spots.get();
+    }
+
+    public long favoritesVersion(Long userId) {
+        return favorites.getOrDefault(userId, 0L);
+    }
+
+    /** ETag for GET /api/spots; {@code variant} distinguishes query shapes such as openNow. */
+    public String spotListEtag(String variant, int nowMinuteOfWeek) {
+        return "\"s-" + nonce + "-" + spots.get() + "-" + openHoursIndex.openStateEpoch(nowMinuteOfWeek)
+                + "-" + variant + "\"";
+    }
+
+    /** ETag for GET /api/favorites; favorite spots embed ratings and isOpen, so spot changes count too. */
+    public String favoritesEtag(Long userId, int nowMinuteOfWeek) {
+        return "\"f-" + nonce + "-" + userId + "-" + favoritesVersion(userId) + "-" + spots.get()
+                + "-" + openHoursIndex.openStateEpoch(nowMinuteOfWeek) + "\"";
+    }
+}
@@ -0,0 +1,115 @@
+package com.studyspotfinder.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.studyspotfinder.controller.StudySpotController.StudySpotResponse;
+import com.studyspotfinder.event.ReviewSubmittedEvent;
+import com.studyspotfinder.event.SpotCreatedEvent;
+import com.studyspotfinder.event.SpotsRefreshedEvent;
+import com.studyspotfinder.model.WeeklySchedule;
+
+/**
+ * Bounded read-through cache of fully built spot detail responses (W-TinyLFU eviction, TTL).
+ * Entries are dropped after a spot is created or reviewed, and all of them after a bulk refresh
+ * (a rating reconcile or catalog reload). isOpen depends on the clock, so
+ * each entry keeps the spot's compiled schedule and hits are returned as a copy with isOpen
+ * evaluated for the caller's "now".
+ */
+@Component
+public class SpotResponseCache {
+
+    private final Cache<Long, Entry> cache;
+
+    public SpotResponseCache(@Value("${spots.detail-cache.max-size:10000}") long maxSize,
+                             @Value("${spots.detail-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached response for the spot, building it with {@code loader} on a miss.
+     * Returns null (and caches nothing) when the loader finds no spot.
+     */
+    public StudySpotResponse get(Long spotId, int nowMinuteOfWeek, Function<Long, Entry> loader) {
+        Entry entry = cache.get(spotId, loader);
+        if (entry == null) return null;
+        StudySpotResponse response = entry.response.copy();
+        response.isOpen = entry.schedule.isOpenAt(nowMinuteOfWeek) ? 1 : 0;
+        return response;
+    }
+
+    /**
+     * Cached responses for {@code spotIds}, loading all misses with one call to {@code loader}.
+     * Spots the loader does not return are left out of the result.
+     */
+    public Map<Long, StudySpotResponse> getAll(Iterable<Long> spotIds, int nowMinuteOfWeek,
+                                               Function<Set<? extends Long>, Map<Long, Entry>> loader) {
+        Map<Long, Entry> entries = cache.getAll(spotIds, loader);
+        Map<Long, StudySpotResponse> responses = new LinkedHashMap<>(entries.size() * 2);
+        entries.forEach((spotId, entry) -> {
+            StudySpotResponse response = entry.response.copy();
+            response.isOpen = entry.schedule.isOpenAt(nowMinuteOfWeek) ? 1 : 0;
+            responses.put(spotId, response);
+        });
+        return responses;
+    }
+
+    public void invalidate(Long spotId) {
+        cache.invalidate(spotId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotCreated(SpotCreatedEvent event) {
+        invalidate(event.getSpot().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        invalidate(event.getSpotId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotsRefreshed(SpotsRefreshedEvent event) {
+        invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public Cache<Long, Entry> nativeCache() {
+        return cache;
+    }
+
+    public static Entry entry(StudySpotResponse response, WeeklySchedule schedule) {
+        return new Entry(response, schedule);
+    }
+
+    public static final class Entry {
+        private final StudySpotResponse response;
+        private final WeeklySchedule schedule;
+
+        private Entry(StudySpotResponse response, WeeklySchedule schedule) {
+            this.response = response;
+            this.schedule = schedule;
+        }
+    }
+}
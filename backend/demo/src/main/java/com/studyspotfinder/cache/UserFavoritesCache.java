@@ -0,0 +1,100 @@
+package com.studyspotfinder.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.service.FavoriteWriteBehind;
+
+/**
+ * Bounded cache of each user's favorite spot ids as a sorted {@code long[]}. Toggles are applied
+ * here first and queued with {@link FavoriteWriteBehind}; a user's set is loaded with one query
+ * on a miss, with their still-queued flags laid over it. Arrays are never modified in place, so
+ * a returned array stays valid after later toggles.
+ */
+@Component
+public class UserFavoritesCache {
+
+    private final FavoriteRepository favoriteRepository;
+    private final FavoriteWriteBehind writeBehind;
+    private final Cache<Long, long[]> byUser;
+
+    public UserFavoritesCache(FavoriteRepository favoriteRepository,
+                              FavoriteWriteBehind writeBehind,
+                              @Value("${favorites.cache.max-size:10000}") long maxSize,
+                              @Value("${favorites.cache.idle-ttl:30m}") Duration idleTtl) {
+        this.favoriteRepository = favoriteRepository;
+        this.writeBehind = writeBehind;
+        this.byUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+    }
+
+    /** The user's favorite spot ids, ascending. */
+    public long[] spotIds(Long userId) {
+        return byUser.get(userId, this::load);
+    }
+
+    public boolean contains(Long userId, long spotId) {
+        return Arrays.binarySearch(spotIds(userId), spotId) >= 0;
+    }
+
+    /**
+     * Sets or clears the flag. Returns true if it changed, in which case the write has been queued.
+     * Runs under the cache's per-user lock, so concurrent toggles and loads of one user are serialized.
+     */
+    public boolean set(Long userId, long spotId, boolean favorite) {
+        boolean[] changed = new boolean[1];
+        byUser.asMap().compute(userId, (id, ids) -> {
+            if (ids == null) ids = load(id);
+            int at = Arrays.binarySearch(ids, spotId);
+            if ((at >= 0) == favorite) return ids;
+            changed[0] = true;
+            writeBehind.enqueue(id, spotId, favorite);
+            return favorite ? insertAt(ids, -at - 1, spotId) : removeAt(ids, at);
+        });
+        return changed[0];
+    }
+
+    public Cache<Long, long[]> nativeCache() {
+        return byUser;
+    }
+
+    private long[] load(Long userId) {
+        // Queued flags are read first: one leaves the queue only after it commits, so a flag
+        // missing here is already visible to the query below
+        Map<Long, Boolean> queued = writeBehind.pendingFor(userId);
+        List<Long> stored = favoriteRepository.findSpotIdsByUserId(userId);
+        long[] ids = stored.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        for (Map.Entry<Long, Boolean> flag : queued.entrySet()) {
+            int at = Arrays.binarySearch(ids, flag.getKey());
+            if (flag.getValue() && at < 0) ids = insertAt(ids, -at - 1, flag.getKey());
+            else if (!flag.getValue() && at >= 0) ids = removeAt(ids, at);
+        }
+        return ids;
+    }
+
+    private static long[] insertAt(long[] ids, int at, long spotId) {
+        long[] next = new long[ids.length + 1];
+        System.arraycopy(ids, 0, next, 0, at);
+        next[at] = spotId;
+        System.arraycopy(ids, at, next, at + 1, ids.length - at);
+        return next;
+    }
+
+    private static long[] removeAt(long[] ids, int at) {
+        long[] next = new long[ids.length - 1];
+        System.arraycopy(ids, 0, next, 0, at);
+        System.arraycopy(ids, at + 1, next, at, ids.length - at - 1);
+        return next;
+    }
+}
@@ -0,0 +1,59 @@
+package com.studyspotfinder.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.security.AuthenticatedUser;
+
+/**
+ * Bounded cache of user identities (id, username, email) by email, for callers that only know
+ * the email, such as tokens issued before the uid claim. Identities never change after
+ * registration, so entries only age out. Missing users are not cached.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> byEmail;
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${users.identity-cache.max-size:10000}") long maxSize,
+                             @Value("${users.identity-cache.ttl:1h}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<AuthenticatedUser> findByEmail(String email) {
+        if (email == null) return Optional.empty();
+        return Optional.ofNullable(byEmail.get(email,
+                e -> userRepository.findByEmail(e).map(UserIdentityCache::identityOf).orElse(null)));
+    }
+
+    public void put(User user) {
+        byEmail.put(user.getEmail(), identityOf(user));
+    }
+
+    public CacheStats stats() {
+        return byEmail.stats();
+    }
+
+    public Cache<String, AuthenticatedUser> nativeCache() {
+        return byEmail;
+    }
+
+    private static AuthenticatedUser identityOf(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getEmail());
+    }
+}
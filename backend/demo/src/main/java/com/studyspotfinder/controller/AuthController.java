@@ -2,14 +2,17 @@ package com.studyspotfinder.controller;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.studyspotfinder.model.User;
+import com.studyspotfinder.security.HashingCapacityException;
 import com.studyspotfinder.security.JwtService;
 import com.studyspotfinder.service.UserService;
 
@@ -26,29 +30,48 @@ import com.studyspotfinder.service.UserService;
 public class AuthController {
 
     private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
 
-    public AuthController(UserService userService, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public AuthController(UserService userService, JwtService jwtService) {
         this.userService = userService;
-        this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
     }
 
+    /**
+     * Password hashing runs on PasswordHasher's pool; the request thread is released meanwhile.
+     * 503 when that pool is saturated.
+     */
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request) {
         if (userService.emailExists(request.getEmail())) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Email already exists");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error));
         }
 
-        User user = userService.registerUser(
-                request.getUsername(),
-                request.getEmail(),
-                request.getPassword());
+        return userService.registerUser(
+                        request.getUsername(),
+                        request.getEmail(),
+                        request.getPassword())
+                .<ResponseEntity<?>>thenApply(user -> ResponseEntity.ok(authResponse(user)))
+                .exceptionally(AuthController::busyOrRethrow);
+    }
+
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request) {
+        Optional<User> userOpt = userService.findByEmail(request.getEmail());
+        if (userOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(invalidCredentials());
+        }
+        User user = userOpt.get();
+
+        return userService.checkPassword(user, request.getPassword())
+                .<ResponseEntity<?>>thenApply(matched -> matched ? ResponseEntity.ok(authResponse(user)) : invalidCredentials())
+                .exceptionally(AuthController::busyOrRethrow);
+    }
 
-        String token = jwtService.generateToken(user.getEmail());
+    private Map<String, Object> authResponse(User user) {
+        String token = jwtService.generateToken(user);
 
         Map<String, Object> response = new HashMap<>();
         response.put("token", token);
@@ -56,29 +79,26 @@ public class AuthController {
                 "id", user.getId(),
                 "username", user.getUsername(),
                 "email", user.getEmail()));
+        return response;
+    }
 
-        return ResponseEntity.ok(response);
+    private static ResponseEntity<?> invalidCredentials() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Invalid email or password");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
-    @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        return userService.findByEmail(request.getEmail())
-                .filter(user -> passwordEncoder.matches(request.getPassword(), user.getPasswordHash()))
-                .<ResponseEntity<?>>map(user -> {
-                    String token = jwtService.generateToken(user.getEmail());
-                    Map<String, Object> response = new HashMap<>();
-                    response.put("token", token);
-                    response.put("user", Map.of(
-                            "id", user.getId(),
-                            "username", user.getUsername(),
-                            "email", user.getEmail()));
-                    return ResponseEntity.ok(response);
-                })
-                .orElseGet(() -> {
-                    Map<String, String> error = new HashMap<>();
-                    error.put("error", "Invalid email or password");
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
-                });
+    private static ResponseEntity<?> busyOrRethrow(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof HashingCapacityException) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Server busy, please retry");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(error);
+        }
+        if (cause instanceof RuntimeException runtime) throw runtime;
+        throw new CompletionException(cause);
     }
 
     public static class RegisterRequest {
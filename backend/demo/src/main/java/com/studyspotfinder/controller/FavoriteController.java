@@ -1,69 +1,54 @@
 package com.studyspotfinder.controller;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import com.studyspotfinder.model.Favorite;
-import com.studyspotfinder.model.StudySpot;
-import com.studyspotfinder.model.User;
-import com.studyspotfinder.repository.FavoriteRepository;
-import com.studyspotfinder.repository.ReviewRepository;
-import com.studyspotfinder.repository.StudySpotRepository;
-import com.studyspotfinder.security.AuthTokenUserResolver;
+import com.studyspotfinder.cache.DataVersions;
+import com.studyspotfinder.model.WeeklySchedule;
+import com.studyspotfinder.security.AuthenticatedUser;
+import com.studyspotfinder.security.CurrentUser;
+import com.studyspotfinder.service.FavoriteService;
+import com.studyspotfinder.service.StudySpotService;
 
 @RestController
 @RequestMapping("/api/favorites")
 @CrossOrigin(origins = "*")
 public class FavoriteController {
 
-    private final FavoriteRepository favoriteRepository;
-    private final StudySpotRepository studySpotRepository;
-    private final AuthTokenUserResolver authTokenUserResolver;
-    private final ReviewRepository reviewRepository;
-
-    public FavoriteController(FavoriteRepository favoriteRepository,
-                              StudySpotRepository studySpotRepository,
-                              AuthTokenUserResolver authTokenUserResolver,
-                              ReviewRepository reviewRepository) {
-        this.favoriteRepository = favoriteRepository;
-        this.studySpotRepository = studySpotRepository;
-        this.authTokenUserResolver = authTokenUserResolver;
-        this.reviewRepository = reviewRepository;
+    private final FavoriteService favoriteService;
+    private final StudySpotService studySpotService;
+    private final DataVersions dataVersions;
+
+    public FavoriteController(FavoriteService favoriteService,
+                              StudySpotService studySpotService,
+                              DataVersions dataVersions) {
+        this.favoriteService = favoriteService;
+        this.studySpotService = studySpotService;
+        this.dataVersions = dataVersions;
     }
 
     @PreAuthorize("hasRole('USER')")
     @PostMapping
-    public ResponseEntity<Void> setFavorite(@RequestHeader(value = "Authorization", required = false) String authHeader,
+    public ResponseEntity<Void> setFavorite(@CurrentUser AuthenticatedUser user,
                                             @RequestBody FavoriteRequest request) {
-        Optional<User> userOpt = authTokenUserResolver.resolveUser(authHeader);
-        if (userOpt.isEmpty()) return ResponseEntity.status(401).build();
-        User user = userOpt.get();
+        if (user == null) return ResponseEntity.status(401).build();
 
         if (request.getSpotId() == null || request.getFavorite() == null) {
             return ResponseEntity.badRequest().build();
         }
 
-        Optional<StudySpot> spotOpt = studySpotRepository.findById(request.getSpotId());
-        if (spotOpt.isEmpty()) return ResponseEntity.notFound().build();
-        StudySpot spot = spotOpt.get();
-
-        Optional<Favorite> existing = favoriteRepository.findByUserIdAndStudySpotId(user.getId(), spot.getId());
-
-        if (request.getFavorite()) {
-            // create if not exists
-            if (existing.isEmpty()) {
-                favoriteRepository.save(new Favorite(user, spot));
-            }
-        } else {
-            // remove if exists
-            existing.ifPresent(favoriteRepository::delete);
+        if (!favoriteService.setFavorite(user.getId(), request.getSpotId(), request.getFavorite())) {
+            return ResponseEntity.notFound().build();
         }
-
         return ResponseEntity.ok().build();
     }
 
@@ -71,24 +56,29 @@ public class FavoriteController {
     @PreAuthorize("hasRole('USER')")
     @GetMapping
     public ResponseEntity<List<StudySpotController.StudySpotResponse>> getMyFavorites(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @CurrentUser AuthenticatedUser user,
+            WebRequest webRequest) {
+
+        if (user == null) return ResponseEntity.status(401).build();
 
-        Optional<User> userOpt = authTokenUserResolver.resolveUser(authHeader);
-        if (userOpt.isEmpty()) return ResponseEntity.status(401).build();
-        User user = userOpt.get();
+        int now = WeeklySchedule.currentMinuteOfWeek();
+        String etag = dataVersions.favoritesEtag(user.getId(), now);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
 
-        // Requires FavoriteRepository.findByUserId(Long userId)
-        List<Favorite> favorites = favoriteRepository.findByUserId(user.getId());
+        long[] spotIds = favoriteService.favoriteSpotIds(user.getId());
+        if (spotIds.length == 0) return ResponseEntity.ok().eTag(etag).body(List.of());
 
-        List<StudySpotController.StudySpotResponse> result = favorites.stream()
-                .map(Favorite::getStudySpot)
-                .map(s -> {
-                    Double avgRating = reviewRepository.findAverageRatingBySpotId(s.getId());
-                    return StudySpotController.StudySpotResponse.fromEntity(s, avgRating);
-                })
+        // Assembled from the catalog snapshot or detail cache; only spots missing from both are loaded (two queries)
+        List<Long> ids = Arrays.stream(spotIds).boxed().collect(Collectors.toList());
+        Map<Long, StudySpotController.StudySpotResponse> details = studySpotService.findDetails(ids, now);
+        List<StudySpotController.StudySpotResponse> result = ids.stream()
+                .map(details::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().eTag(etag).body(result);
     }
 
     public static class FavoriteRequest {
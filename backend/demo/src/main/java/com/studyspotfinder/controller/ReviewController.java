@@ -1,10 +1,15 @@
 package com.studyspotfinder.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,32 +17,42 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.studyspotfinder.model.Review;
 import com.studyspotfinder.model.StudySpot;
-import com.studyspotfinder.model.User;
 import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.ReviewView;
 import com.studyspotfinder.repository.StudySpotRepository;
-import com.studyspotfinder.security.AuthTokenUserResolver;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.security.AuthenticatedUser;
+import com.studyspotfinder.security.CurrentUser;
+import com.studyspotfinder.service.ReviewService;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "*")
 public class ReviewController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ReviewRepository reviewRepository;
     private final StudySpotRepository studySpotRepository;
-    private final AuthTokenUserResolver authTokenUserResolver;
+    private final UserRepository userRepository;
+    private final ReviewService reviewService;
 
     public ReviewController(ReviewRepository reviewRepository,
                             StudySpotRepository studySpotRepository,
-                            AuthTokenUserResolver authTokenUserResolver) {
+                            UserRepository userRepository,
+                            ReviewService reviewService) {
         this.reviewRepository = reviewRepository;
         this.studySpotRepository = studySpotRepository;
-        this.authTokenUserResolver = authTokenUserResolver;
+        this.userRepository = userRepository;
+        this.reviewService = reviewService;
     }
 
     /**
@@ -45,14 +60,12 @@ public class ReviewController {
      */
     @PreAuthorize("hasRole('USER')")
     @PostMapping("/spots/{spotId}/reviews")
-    public ResponseEntity<?> submitReview(@RequestHeader(value = "Authorization", required = false) String authHeader,
+    public ResponseEntity<?> submitReview(@CurrentUser AuthenticatedUser user,
                                           @PathVariable Long spotId,
                                           @RequestBody ReviewRequest request) {
-        Optional<User> userOpt = authTokenUserResolver.resolveUser(authHeader);
-        if (userOpt.isEmpty()) {
+        if (user == null) {
             return ResponseEntity.status(401).build();
         }
-        User user = userOpt.get();
 
         Integer rating = request.getRatingAsInteger();
         if (rating == null || rating < 1 || rating > 5) {
@@ -65,37 +78,102 @@ public class ReviewController {
         }
         StudySpot spot = spotOpt.get();
 
-        Review review = new Review(user, spot, rating, request.getComment());
-        Review saved = reviewRepository.save(review);
+        // The author is a reference by id; the response takes the username from the token
+        Review saved = reviewService.submitReview(userRepository.getReferenceById(user.getId()), spot, rating,
+                request.getComment());
 
-        return ResponseEntity.ok(toResponse(saved));
+        return ResponseEntity.ok(toResponse(saved, user));
     }
 
     /**
-     * GET /api/spots/{spotId}/reviews
+     * GET /api/spots/{spotId}/reviews[?limit=20][&cursor=...]
+     * Newest first. Without limit or cursor every review is returned, as the details page expects.
+     * With either, one page of at most limit (default 20) reviews is returned, and while more
+     * exist the X-Next-Cursor response header carries the cursor for the following page.
      */
     @GetMapping("/spots/{spotId}/reviews")
-    public ResponseEntity<List<ReviewResponse>> listReviews(@PathVariable Long spotId) {
-        if (!studySpotRepository.existsById(spotId)) {
+    public ResponseEntity<?> listReviews(@PathVariable Long spotId,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit) {
+        boolean paged = limit != null || (cursor != null && !cursor.isEmpty());
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        Limit fetch = paged ? Limit.of(pageSize + 1) : Limit.unlimited();
+        List<ReviewView> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = reviewRepository.findNewestBySpotId(spotId, fetch);
+        } else {
+            ReviewCursor after = ReviewCursor.decode(cursor);
+            if (after == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+            }
+            rows = reviewRepository.findBySpotIdBefore(spotId, after.createdAt, after.id, fetch);
+        }
+
+        if (rows.isEmpty() && cursor == null && !studySpotRepository.existsById(spotId)) {
             return ResponseEntity.notFound().build();
         }
 
-        List<Review> reviews = reviewRepository.findByStudySpotIdOrderByCreatedAtDesc(spotId);
-        List<ReviewResponse> body = reviews.stream()
+        boolean hasMore = paged && rows.size() > pageSize;
+        List<ReviewView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        List<ReviewResponse> body = page.stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(body);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (hasMore) {
+            ReviewView last = page.get(page.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, new ReviewCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return response.body(body);
+    }
+
+    private ReviewResponse toResponse(ReviewView view) {
+        return new ReviewResponse(
+                view.getId(),
+                view.getRating(),
+                view.getComment(),
+                view.getCreatedAt() != null ? view.getCreatedAt().atOffset(ZoneOffset.UTC) : null,
+                new UserSummary(view.getUserId(), view.getUsername()));
     }
 
-    private ReviewResponse toResponse(Review review) {
+    private ReviewResponse toResponse(Review review, AuthenticatedUser author) {
         return new ReviewResponse(
                 review.getId(),
                 review.getRating(),
                 review.getComment(),
                 review.getCreatedAt() != null ? review.getCreatedAt().atOffset(ZoneOffset.UTC) : null,
-                review.getUser() != null
-                        ? new UserSummary(review.getUser().getId(), review.getUser().getUsername())
-                        : null);
+                new UserSummary(author.getId(), author.getUsername()));
+    }
+
+    // Opaque page cursor: base64url of "<createdAt>|<reviewId>"
+    static class ReviewCursor {
+        final LocalDateTime createdAt;
+        final Long id;
+
+        ReviewCursor(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ReviewCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new ReviewCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
     }
 
     // DTO to accept {"rating":"4", "comment": "..."} (rating may be string or number)
@@ -1,12 +1,28 @@
 package com.studyspotfinder.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -14,105 +30,385 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.studyspotfinder.cache.DataVersions;
+import com.studyspotfinder.index.GeoHit;
+import com.studyspotfinder.index.OpenHoursIndex;
+import com.studyspotfinder.index.SearchHit;
+import com.studyspotfinder.index.SpotAutocompleteIndex;
+import com.studyspotfinder.index.SpotGeoIndex;
+import com.studyspotfinder.index.SpotSearchIndex;
+import com.studyspotfinder.model.SpotRatingSummary;
 import com.studyspotfinder.model.StudySpot;
 import com.studyspotfinder.model.StudySpotHours;
-import com.studyspotfinder.repository.ReviewRepository;
-import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.model.WeeklySchedule;
+import com.studyspotfinder.repository.SpotPage;
+import com.studyspotfinder.repository.SpotPageQuery;
+import com.studyspotfinder.repository.SpotPageRow;
+import com.studyspotfinder.security.AuthenticatedUser;
+import com.studyspotfinder.security.CurrentUser;
+import com.studyspotfinder.service.FavoriteService;
+import com.studyspotfinder.service.RatingSummaryService;
+import com.studyspotfinder.service.SpotExportService;
+import com.studyspotfinder.service.SpotImportService;
+import com.studyspotfinder.service.SpotPopularityService;
+import com.studyspotfinder.service.StudySpotService;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api/spots")
 @CrossOrigin(origins = "*")
 public class StudySpotController {
 
-    private final StudySpotRepository studySpotRepository;
-    private final ReviewRepository reviewRepository;
+    private static final int MAX_GEO_RESULTS = 2000;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final String SORT_POPULAR = "popular";
+    private static final String SORT_TRENDING = "trending";
+    private static final Map<String, SpotPageQuery.Sort> PAGE_SORTS = Map.of(
+            "name", SpotPageQuery.Sort.NAME,
+            "rating", SpotPageQuery.Sort.RATING,
+            "distance", SpotPageQuery.Sort.DISTANCE);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int SEARCH_RERANK_FACTOR = 5;
+    private static final int MAX_SEARCH_CANDIDATES = 500;
+    // Distance at which a search hit's text score is halved
+    private static final double SEARCH_DISTANCE_SCALE_METERS = 2000;
+
+    private final RatingSummaryService ratingSummaryService;
+    private final StudySpotService studySpotService;
+    private final FavoriteService favoriteService;
+    private final SpotImportService spotImportService;
+    private final SpotExportService spotExportService;
+    private final SpotPopularityService spotPopularityService;
+    private final SpotGeoIndex spotGeoIndex;
+    private final OpenHoursIndex openHoursIndex;
+    private final SpotSearchIndex spotSearchIndex;
+    private final SpotAutocompleteIndex spotAutocompleteIndex;
+    private final DataVersions dataVersions;
 
-    public StudySpotController(StudySpotRepository studySpotRepository, ReviewRepository reviewRepository) {
-        this.studySpotRepository = studySpotRepository;
-        this.reviewRepository = reviewRepository;
+    public StudySpotController(RatingSummaryService ratingSummaryService,
+                               StudySpotService studySpotService,
+                               FavoriteService favoriteService,
+                               SpotImportService spotImportService,
+                               SpotExportService spotExportService,
+                               SpotPopularityService spotPopularityService,
+                               SpotGeoIndex spotGeoIndex,
+                               OpenHoursIndex openHoursIndex,
+                               SpotSearchIndex spotSearchIndex,
+                               SpotAutocompleteIndex spotAutocompleteIndex,
+                               DataVersions dataVersions) {
+        this.ratingSummaryService = ratingSummaryService;
+        this.studySpotService = studySpotService;
+        this.favoriteService = favoriteService;
+        this.spotImportService = spotImportService;
+        this.spotExportService = spotExportService;
+        this.spotPopularityService = spotPopularityService;
+        this.spotGeoIndex = spotGeoIndex;
+        this.openHoursIndex = openHoursIndex;
+        this.spotSearchIndex = spotSearchIndex;
+        this.spotAutocompleteIndex = spotAutocompleteIndex;
+        this.dataVersions = dataVersions;
     }
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping
-    public List<StudySpotResponse> getAllSpots() {
-        List<StudySpot> spots = studySpotRepository.findAll();
-        return spots.stream().map(s -> {
-            Double avgRating = reviewRepository.findAverageRatingBySpotId(s.getId());
-            return StudySpotResponse.fromEntity(s, avgRating);
-        }).collect(Collectors.toList());
+    public ResponseEntity<List<StudySpotResponse>> getAllSpots(@CurrentUser AuthenticatedUser user,
+                                                               @RequestParam(required = false) Boolean openNow,
+                                                               @RequestParam(required = false) Boolean includeFavorite,
+                                                               @RequestParam(required = false) String sort,
+                                                               PageParams page,
+                                                               WebRequest webRequest) {
+        int now = WeeklySchedule.currentMinuteOfWeek();
+        boolean onlyOpen = Boolean.TRUE.equals(openNow);
+        boolean withFavorites = user != null && Boolean.TRUE.equals(includeFavorite);
+        if ((sort != null && PAGE_SORTS.containsKey(sort)) || (page != null && page.isSet())) {
+            return listPage(user, onlyOpen, withFavorites, sort, page != null ? page : new PageParams(), now);
+        }
+        if (sort != null && !SORT_POPULAR.equals(sort) && !SORT_TRENDING.equals(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        // Rankings move with every view, so only the id-ordered listing is answered with 304
+        if (sort == null) {
+            // Answer If-None-Match before touching the database; with isFavorite the list is per user
+            String variant = onlyOpen ? "open" : "all";
+            if (withFavorites) variant += "-f" + user.getId() + "." + dataVersions.favoritesVersion(user.getId());
+            String etag = dataVersions.spotListEtag(variant, now);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            ok.eTag(etag);
+        }
+
+        List<StudySpotResponse> result;
+        if (onlyOpen && !openHoursIndex.isReady()) {
+            // Interval index still loading: filter the full listing on its isOpen instead
+            result = studySpotService.findAllResponses(now);
+            result.removeIf(r -> r.isOpen != 1);
+        } else if (onlyOpen) {
+            // Open spots come from the interval index
+            List<Long> openIds = toIdList(openHoursIndex.openAt(now, 0));
+            if (openIds.isEmpty()) return ok.body(List.of());
+            result = new ArrayList<>(studySpotService.findResponses(openIds, now).values());
+        } else {
+            result = studySpotService.findAllResponses(now);
+        }
+        if (withFavorites) markFavorites(result, favoriteService.favoriteSpotIds(user.getId()));
+        if (sort != null) rank(result, sort);
+        return ok.body(result);
     }
 
+    /**
+     * GET /api/spots with a filter (type, minRating), sort=name|rating|distance, limit or cursor:
+     * one keyset page filtered and ordered by the database, in two queries (page, rating summaries);
+     * unlike the full listing it does not read the spot catalog.
+     * X-Next-Cursor carries the cursor of the following page when there is one. With openNow a
+     * page can come back short, even empty, while the cursor is still set: the end of the listing
+     * is the first response without X-Next-Cursor.
+     */
+    private ResponseEntity<List<StudySpotResponse>> listPage(AuthenticatedUser user, boolean onlyOpen,
+                                                             boolean withFavorites, String sort,
+                                                             PageParams params, int now) {
+        SpotPageQuery.Sort order = sort == null ? SpotPageQuery.Sort.ID : PAGE_SORTS.get(sort);
+        int limit = params.getLimit() != null ? params.getLimit() : DEFAULT_PAGE_SIZE;
+        boolean badOrigin = order == SpotPageQuery.Sort.DISTANCE && (params.getLat() == null || params.getLng() == null
+                || Math.abs(params.getLat()) > 90 || Math.abs(params.getLng()) > 180);
+        boolean badRating = params.getMinRating() != null && (params.getMinRating() < 0 || params.getMinRating() > 5);
+        if (order == null || limit < 1 || limit > MAX_PAGE_SIZE || badOrigin || badRating) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SpotPageQuery query = new SpotPageQuery();
+        query.setSort(order);
+        query.setType(params.getType());
+        query.setMinRating(params.getMinRating());
+        query.setLimit(limit);
+        if (order == SpotPageQuery.Sort.DISTANCE) query.setOrigin(params.getLat(), params.getLng());
+        if (params.getCursor() != null && !params.getCursor().isEmpty()) {
+            SpotCursor after = SpotCursor.decode(params.getCursor(), order);
+            if (after == null) return ResponseEntity.badRequest().build();
+            query.setAfter(after.key, after.id);
+        }
+
+        if (onlyOpen && !openHoursIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        SpotPage page = studySpotService.findPage(query, onlyOpen ? openHoursIndex.openAt(now, 0) : null);
+        List<SpotPageRow> pageRows = page.getRows();
+        Map<Long, SpotRatingSummary> summaries = ratingSummaryService.findBySpotIds(
+                pageRows.stream().map(r -> r.getSpot().getId()).collect(Collectors.toList()));
+        List<StudySpotResponse> result = new ArrayList<>(pageRows.size());
+        for (SpotPageRow row : pageRows) {
+            StudySpot s = row.getSpot();
+            StudySpotResponse r = StudySpotResponse.fromEntity(s, summaries.get(s.getId()), now);
+            if (order == SpotPageQuery.Sort.DISTANCE) {
+                r.distance = SpotGeoIndex.haversineMeters(params.getLat(), params.getLng(), s.getLatitude(), s.getLongitude());
+            }
+            result.add(r);
+        }
+        if (withFavorites) markFavorites(result, favoriteService.favoriteSpotIds(user.getId()));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextAfter() != null) {
+            SpotPageRow last = page.getNextAfter();
+            response.header(ReviewController.NEXT_CURSOR_HEADER,
+                    new SpotCursor(order, last.getSortKey(), last.getSpot().getId()).encode());
+        }
+        return response.body(result);
+    }
+
+    /**
+     * GET /api/spots/export
+     * The whole catalog as NDJSON (one spot per line, with hours, rating summary and favorite
+     * count), streamed from the database as it is read.
+     */
     @PreAuthorize("hasRole('USER')")
-    @GetMapping("/{id}")
-    public ResponseEntity<StudySpotResponse> getSpotById(@PathVariable Long id) {
-        return studySpotRepository.findById(id)
-                .map(s -> {
-                    Double avgRating = reviewRepository.findAverageRatingBySpotId(s.getId());
-                    return ResponseEntity.ok(StudySpotResponse.fromEntity(s, avgRating));
-                })
-                .orElse(ResponseEntity.notFound().build());
+    @GetMapping(value = "/export", produces = SpotImportService.NDJSON)
+    public void exportSpots(HttpServletResponse response) throws IOException {
+        // Written synchronously: an export of any size must not hit the async request timeout
+        response.setContentType(SpotImportService.NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        spotExportService.exportNdjson(response.getOutputStream());
     }
 
+    /**
+     * GET /api/spots/within?minLat=..&maxLat=..&minLng=..&maxLng=..
+     * Spots inside the map viewport, nearest to the viewport center first.
+     */
     @PreAuthorize("hasRole('USER')")
-    @PostMapping
-    public ResponseEntity<?> createSpot(@RequestBody CreateSpotRequest request) {
-        try {
-            // Validate required fields
-            if (request.name == null || request.name.trim().isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Name is required"));
+    @GetMapping("/within")
+    public ResponseEntity<?> getSpotsWithin(@RequestParam double minLat,
+                                            @RequestParam double maxLat,
+                                            @RequestParam double minLng,
+                                            @RequestParam double maxLng,
+                                            @RequestParam(defaultValue = "500") int limit) {
+        if (minLat > maxLat || minLng > maxLng) {
+            return ResponseEntity.badRequest().body(Map.of("error", "min bounds must not exceed max bounds"));
+        }
+        if (limit < 1 || limit > MAX_GEO_RESULTS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and " + MAX_GEO_RESULTS));
+        }
+        if (!spotGeoIndex.isReady()) return indexLoading();
+        List<GeoHit> hits = spotGeoIndex.within(minLat, maxLat, minLng, maxLng,
+                (minLat + maxLat) / 2, (minLng + maxLng) / 2, limit);
+        return ResponseEntity.ok(toGeoResponses(hits));
+    }
+
+    /**
+     * GET /api/spots/nearby?lat=..&lng=..&radius=1000&limit=20
+     * The nearest spots within radius meters of a point, nearest first.
+     */
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getSpotsNearby(@RequestParam double lat,
+                                            @RequestParam double lng,
+                                            @RequestParam(defaultValue = "1000") double radius,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            return ResponseEntity.badRequest().body(Map.of("error", "lat/lng out of range"));
+        }
+        if (radius <= 0) {
+            return ResponseEntity.badRequest().body(Map.of("error", "radius must be positive"));
+        }
+        if (limit < 1 || limit > MAX_GEO_RESULTS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and " + MAX_GEO_RESULTS));
+        }
+        if (!spotGeoIndex.isReady()) return indexLoading();
+        return ResponseEntity.ok(toGeoResponses(spotGeoIndex.nearest(lat, lng, radius, limit)));
+    }
+
+    /**
+     * GET /api/spots/search?q=quiet libr&limit=20[&lat=..&lng=..][&boostRating=true]
+     * Full-text search over name, type, description and note; the last word also matches as a
+     * prefix. With lat/lng, nearer spots rank higher (and carry distance); with boostRating,
+     * better-rated ones do.
+     */
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/search")
+    public ResponseEntity<?> searchSpots(@RequestParam String q,
+                                         @RequestParam(defaultValue = "20") int limit,
+                                         @RequestParam(required = false) Double lat,
+                                         @RequestParam(required = false) Double lng,
+                                         @RequestParam(defaultValue = "false") boolean boostRating) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and " + MAX_SEARCH_RESULTS));
+        }
+        if ((lat == null) != (lng == null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "lat and lng must be given together"));
+        }
+        if (lat != null && (lat < -90 || lat > 90 || lng < -180 || lng > 180)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "lat/lng out of range"));
+        }
+        boolean rerank = lat != null || boostRating;
+        // Re-ranking looks past the text top-N so a close or well-rated spot can move up
+        List<SearchHit> hits = spotSearchIndex.search(q, rerank ? Math.min(limit * SEARCH_RERANK_FACTOR, MAX_SEARCH_CANDIDATES) : limit);
+        if (hits.isEmpty()) return ResponseEntity.ok(List.of());
+
+        List<Long> ids = hits.stream().map(SearchHit::getSpotId).collect(Collectors.toList());
+        Map<Long, StudySpotResponse> responses = studySpotService.findResponses(ids, WeeklySchedule.currentMinuteOfWeek());
+
+        List<StudySpotResponse> result = new ArrayList<>(hits.size());
+        Map<Long, Double> scores = new HashMap<>();
+        for (SearchHit hit : hits) {
+            StudySpotResponse r = responses.get(hit.getSpotId());
+            if (r == null) continue;
+            double score = hit.getScore();
+            if (lat != null && r.position.length == 2) {
+                r.distance = SpotGeoIndex.haversineMeters(lat, lng, r.position[0], r.position[1]);
+                score /= 1 + r.distance / SEARCH_DISTANCE_SCALE_METERS;
             }
-            if (request.address == null || request.address.trim().isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Address is required"));
+            if (boostRating && r.reviewCount > 0) {
+                // 1 star: x0.8 ... 5 stars: x1.2
+                score *= 1 + 0.1 * (r.rating - 3);
             }
+            scores.put(r.id, score);
+            result.add(r);
+        }
+        if (rerank) {
+            result.sort((a, b) -> Double.compare(scores.get(b.id), scores.get(a.id)));
+        }
+        return ResponseEntity.ok(result.size() > limit ? result.subList(0, limit) : result);
+    }
 
-            // Create StudySpot entity
-            StudySpot spot = new StudySpot();
-            spot.setName(request.name.trim());
-            spot.setType(request.type != null ? request.type.trim() : null);
-            spot.setAddress(request.address.trim());
-            spot.setDescription(request.description != null ? request.description.trim() : null);
-            spot.setNote(request.note != null ? request.note.trim() : null);
-            spot.setLatitude(request.latitude);
-            spot.setLongitude(request.longitude);
-            spot.setImageUrl(request.imageUrl != null ? request.imageUrl.trim() : null);
-
-            // Initialize hours list
-            spot.setHours(new ArrayList<>());
+    /**
+     * GET /api/spots/autocomplete?q=lib&limit=8
+     * As-you-type suggestions: spots with a name word or type starting with q, most popular first.
+     * Served from memory; suitable for one call per keystroke.
+     */
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<?> autocomplete(@RequestParam String q,
+                                          @RequestParam(defaultValue = "8") int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and " + MAX_SUGGESTIONS));
+        }
+        return ResponseEntity.ok(spotAutocompleteIndex.suggest(q, limit));
+    }
 
-            // Save the spot first to get an ID
-            spot = studySpotRepository.save(spot);
+    /**
+     * GET /api/spots/open?at=2025-01-08T23:00:00-08:00&minMinutes=120
+     * Spots open at the given time (default: now) that stay open for at least minMinutes more.
+     * A timestamp without offset is read as campus local time.
+     */
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/open")
+    public ResponseEntity<?> getSpotsOpenAt(@RequestParam(required = false) String at,
+                                            @RequestParam(defaultValue = "0") int minMinutes) {
+        ZonedDateTime time;
+        try {
+            time = at == null ? ZonedDateTime.now(WeeklySchedule.CAMPUS_ZONE) : parseTimestamp(at);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid timestamp. Use ISO-8601, e.g. 2025-01-08T23:00:00-08:00"));
+        }
+        if (minMinutes < 0 || minMinutes > WeeklySchedule.MINUTES_PER_WEEK) {
+            return ResponseEntity.badRequest().body(Map.of("error", "minMinutes must be between 0 and " + WeeklySchedule.MINUTES_PER_WEEK));
+        }
 
-            // Create and save hours entries if provided
-            if (request.hours != null && !request.hours.isEmpty()) {
-                for (CreateSpotRequest.HourEntry hourEntry : request.hours) {
-                    // Validate hour entry
-                    if (hourEntry.dayOfWeek < 0 || hourEntry.dayOfWeek > 6) {
-                        return ResponseEntity.badRequest().body(Map.of("error", "dayOfWeek must be between 0 (Sunday) and 6 (Saturday)"));
-                    }
-                    if (hourEntry.openTime == null || hourEntry.closeTime == null) {
-                        return ResponseEntity.badRequest().body(Map.of("error", "openTime and closeTime are required for each hour entry"));
-                    }
+        if (!openHoursIndex.isReady()) return indexLoading();
+        List<Long> ids = toIdList(openHoursIndex.openAt(WeeklySchedule.minuteOfWeek(time), minMinutes));
+        if (ids.isEmpty()) return ResponseEntity.ok(List.of());
+        return ResponseEntity.ok(new ArrayList<>(studySpotService.findResponses(ids, WeeklySchedule.currentMinuteOfWeek()).values()));
+    }
 
-                    try {
-                        LocalTime openTime = LocalTime.parse(hourEntry.openTime);
-                        LocalTime closeTime = LocalTime.parse(hourEntry.closeTime);
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/{id}")
+    public ResponseEntity<StudySpotResponse> getSpotById(@CurrentUser AuthenticatedUser user,
+                                                         @PathVariable Long id,
+                                                         @RequestParam(required = false) Boolean includeFavorite) {
+        int now = WeeklySchedule.currentMinuteOfWeek();
+        StudySpotResponse response = studySpotService.findDetail(id, now);
+        if (response == null) return ResponseEntity.notFound().build();
+        spotPopularityService.recordView(id);
+        if (user != null && Boolean.TRUE.equals(includeFavorite)) {
+            markFavorites(List.of(response), favoriteService.favoriteSpotIds(user.getId()));
+        }
+        return ResponseEntity.ok(response);
+    }
 
-                        StudySpotHours hours = new StudySpotHours(spot, hourEntry.dayOfWeek, openTime, closeTime);
-                        spot.getHours().add(hours);
-                    } catch (Exception e) {
-                        return ResponseEntity.badRequest().body(Map.of("error", "Invalid time format. Use HH:mm or HH:mm:ss (e.g., 09:00, 17:30)"));
-                    }
-                }
-                // Save the spot again to persist the hours (cascade will handle it)
-                spot = studySpotRepository.save(spot);
-            }
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping
+    public ResponseEntity<?> createSpot(@RequestBody CreateSpotRequest request) {
+        StudySpot spot;
+        try {
+            // Validated before anything is written
+            spot = request.toEntity();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        try {
+            // Single save: hours are persisted through the cascade
+            spot = studySpotService.createSpot(spot);
 
-            // Return the created spot
-            Double avgRating = reviewRepository.findAverageRatingBySpotId(spot.getId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(StudySpotResponse.fromEntity(spot, avgRating));
+            // Return the created spot (a new spot has no reviews, so no rating lookup is needed)
+            return ResponseEntity.status(HttpStatus.CREATED).body(StudySpotResponse.fromEntity(spot, null, WeeklySchedule.currentMinuteOfWeek()));
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -120,30 +416,207 @@ public class StudySpotController {
         }
     }
 
+    /**
+     * POST /api/spots/import  (Content-Type: application/x-ndjson or text/csv)
+     * Streams spots in, one per NDJSON line or CSV record, and writes them in batches.
+     * Invalid rows are reported by line number and skipped; the rest are imported.
+     */
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping(value = "/import", consumes = { SpotImportService.NDJSON, SpotImportService.CSV })
+    public ResponseEntity<?> importSpots(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                         InputStream body) throws IOException {
+        SpotImportService.ImportResult result;
+        try {
+            result = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(SpotImportService.CSV))
+                    ? spotImportService.importCsv(body)
+                    : spotImportService.importNdjson(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    // Answer for an in-memory index that has not finished its startup load: an empty 200
+    // would read as "nothing matches"
+    private static ResponseEntity<?> indexLoading() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Spot index is loading, please retry"));
+    }
+
+    private static ZonedDateTime parseTimestamp(String value) {
+        try {
+            return OffsetDateTime.parse(value).toZonedDateTime();
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(value).atZone(WeeklySchedule.CAMPUS_ZONE);
+        }
+    }
+
+    // Orders by the in-memory popularity counters, highest first; ties by id
+    private void rank(List<StudySpotResponse> responses, String sort) {
+        long nowMillis = System.currentTimeMillis();
+        Map<Long, Double> scores = new HashMap<>(responses.size() * 2);
+        for (StudySpotResponse r : responses) {
+            scores.put(r.id, SORT_POPULAR.equals(sort)
+                    ? (double) spotPopularityService.popularScore(r.id)
+                    : spotPopularityService.trendingScore(r.id, nowMillis));
+        }
+        responses.sort(Comparator.comparingDouble((StudySpotResponse r) -> -scores.get(r.id))
+                .thenComparingLong(r -> r.id));
+    }
+
+    // Sets isFavorite from the caller's favorite spot ids (ascending, from the favorites cache)
+    private static void markFavorites(List<StudySpotResponse> responses, long[] favoriteSpotIds) {
+        for (StudySpotResponse r : responses) {
+            r.isFavorite = Arrays.binarySearch(favoriteSpotIds, r.id) >= 0;
+        }
+    }
+
+    private static List<Long> toIdList(long[] ids) {
+        List<Long> list = new ArrayList<>(ids.length);
+        for (long id : ids) list.add(id);
+        return list;
+    }
+
+    // The hit spots' responses in the index's distance order
+    private List<StudySpotResponse> toGeoResponses(List<GeoHit> hits) {
+        if (hits.isEmpty()) return List.of();
+        List<Long> ids = hits.stream().map(GeoHit::getSpotId).collect(Collectors.toList());
+        Map<Long, StudySpotResponse> responses = studySpotService.findResponses(ids, WeeklySchedule.currentMinuteOfWeek());
+
+        List<StudySpotResponse> result = new ArrayList<>(hits.size());
+        for (GeoHit hit : hits) {
+            StudySpotResponse r = responses.get(hit.getSpotId());
+            if (r == null) continue;
+            r.distance = hit.getDistanceMeters();
+            result.add(r);
+        }
+        return result;
+    }
+
     public static class StudySpotResponse {
         public Long id;
         public String name;
         public String type;
         public String hours;
+        @JsonRawValue
+        public String hoursByDay; // {"sunday":[],"monday":["9am-5pm"],...}
         public int isOpen;
         public Double rating;
+        public int reviewCount;
+        public int[] ratingHistogram; // counts of 1..5 star reviews
         public String note;
         public double[] position;
         public String image;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public Double distance; // meters, only set by geo queries
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public Boolean isFavorite; // only set when the caller asks for it (includeFavorite=true)
 
-        public static StudySpotResponse fromEntity(StudySpot s, Double avgRating) {
+        // nowMinuteOfWeek: see WeeklySchedule.currentMinuteOfWeek(); callers capture it once per request
+        public static StudySpotResponse fromEntity(StudySpot s, SpotRatingSummary summary, int nowMinuteOfWeek) {
             StudySpotResponse r = new StudySpotResponse();
             r.id = s.getId();
             r.name = s.getName();
             r.type = s.getType();
             r.hours = s.getHoursFormatted();
-            r.isOpen = s.getIsOpen();
+            r.hoursByDay = s.getHoursJson();
+            r.isOpen = s.isOpenAt(nowMinuteOfWeek) ? 1 : 0;
+            Double avgRating = summary != null ? summary.getAverageRating() : null;
             r.rating = avgRating != null ? avgRating : 0.0;
+            r.reviewCount = summary != null ? summary.getReviewCount() : 0;
+            r.ratingHistogram = summary != null ? summary.getHistogram() : new int[5];
             r.note = s.getNote();
             r.position = s.getPosition();
             r.image = s.getImage();
             return r;
         }
+
+        // Shallow copy; arrays are never mutated after construction
+        public StudySpotResponse copy() {
+            StudySpotResponse r = new StudySpotResponse();
+            r.id = id;
+            r.name = name;
+            r.type = type;
+            r.hours = hours;
+            r.hoursByDay = hoursByDay;
+            r.isOpen = isOpen;
+            r.rating = rating;
+            r.reviewCount = reviewCount;
+            r.ratingHistogram = ratingHistogram;
+            r.note = note;
+            r.position = position;
+            r.image = image;
+            r.distance = distance;
+            r.isFavorite = isFavorite;
+            return r;
+        }
+    }
+
+    // Query parameters of a paged GET /api/spots
+    public static class PageParams {
+        private String type;
+        private Double minRating;
+        private Double lat;
+        private Double lng;
+        private Integer limit;
+        private String cursor;
+
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+
+        public Double getMinRating() { return minRating; }
+        public void setMinRating(Double minRating) { this.minRating = minRating; }
+
+        public Double getLat() { return lat; }
+        public void setLat(Double lat) { this.lat = lat; }
+
+        public Double getLng() { return lng; }
+        public void setLng(Double lng) { this.lng = lng; }
+
+        public Integer getLimit() { return limit; }
+        public void setLimit(Integer limit) { this.limit = limit; }
+
+        public String getCursor() { return cursor; }
+        public void setCursor(String cursor) { this.cursor = cursor; }
+
+        boolean isSet() {
+            return type != null || minRating != null || limit != null || cursor != null;
+        }
+    }
+
+    // Opaque page cursor: base64url of "<sort>|<spotId>|<sort key>"
+    static class SpotCursor {
+        final SpotPageQuery.Sort sort;
+        final Object key;
+        final Long id;
+
+        SpotCursor(SpotPageQuery.Sort sort, Object key, Long id) {
+            this.sort = sort;
+            this.key = key;
+            this.id = id;
+        }
+
+        String encode() {
+            String raw = sort + "|" + id + "|" + (sort == SpotPageQuery.Sort.ID ? "" : key);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Null when malformed or issued for another sort
+        static SpotCursor decode(String cursor, SpotPageQuery.Sort expected) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+                if (parts.length != 3 || SpotPageQuery.Sort.valueOf(parts[0]) != expected) return null;
+                Object key = switch (expected) {
+                    case ID -> null;
+                    case NAME -> parts[2];
+                    case RATING, DISTANCE -> Double.valueOf(parts[2]);
+                };
+                return new SpotCursor(expected, key, Long.valueOf(parts[1]));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
     }
 
     public static class CreateSpotRequest {
@@ -157,6 +630,65 @@ public class StudySpotController {
         public String imageUrl;
         public List<HourEntry> hours;
 
+        // Column lengths of study_spots
+        static final int MAX_TEXT_LENGTH = 255;
+        static final int MAX_IMAGE_URL_LENGTH = 512;
+
+        /**
+         * Builds an unsaved spot with its hours, throwing IllegalArgumentException with a
+         * client-facing message when a field is missing or malformed.
+         */
+        public StudySpot toEntity() {
+            if (name == null || name.trim().isEmpty()) {
+                throw new IllegalArgumentException("Name is required");
+            }
+            if (address == null || address.trim().isEmpty()) {
+                throw new IllegalArgumentException("Address is required");
+            }
+
+            StudySpot spot = new StudySpot();
+            spot.setName(name.trim());
+            spot.setType(type != null ? type.trim() : null);
+            spot.setAddress(address.trim());
+            spot.setDescription(description != null ? description.trim() : null);
+            spot.setNote(note != null ? note.trim() : null);
+            spot.setLatitude(latitude);
+            spot.setLongitude(longitude);
+            spot.setImageUrl(imageUrl != null ? imageUrl.trim() : null);
+            checkLength("name", spot.getName(), MAX_TEXT_LENGTH);
+            checkLength("type", spot.getType(), MAX_TEXT_LENGTH);
+            checkLength("address", spot.getAddress(), MAX_TEXT_LENGTH);
+            checkLength("imageUrl", spot.getImageUrl(), MAX_IMAGE_URL_LENGTH);
+
+            spot.setHours(new ArrayList<>());
+            if (hours != null) {
+                for (HourEntry hourEntry : hours) {
+                    if (hourEntry == null || hourEntry.dayOfWeek < 0 || hourEntry.dayOfWeek > 6) {
+                        throw new IllegalArgumentException("dayOfWeek must be between 0 (Sunday) and 6 (Saturday)");
+                    }
+                    if (hourEntry.openTime == null || hourEntry.closeTime == null) {
+                        throw new IllegalArgumentException("openTime and closeTime are required for each hour entry");
+                    }
+                    try {
+                        LocalTime openTime = LocalTime.parse(hourEntry.openTime);
+                        LocalTime closeTime = LocalTime.parse(hourEntry.closeTime);
+                        spot.getHours().add(new StudySpotHours(spot, hourEntry.dayOfWeek, openTime, closeTime));
+                    } catch (DateTimeParseException e) {
+                        throw new IllegalArgumentException("Invalid time format. Use HH:mm or HH:mm:ss (e.g., 09:00, 17:30)");
+                    }
+                }
+            }
+            // Also checks that the compiled schedule fits its column
+            spot.compileHours();
+            return spot;
+        }
+
+        private static void checkLength(String field, String value, int max) {
+            if (value != null && value.length() > max) {
+                throw new IllegalArgumentException(field + " must be at most " + max + " characters");
+            }
+        }
+
         public static class HourEntry {
             public int dayOfWeek; // 0 = Sunday, 1 = Monday, ..., 6 = Saturday
             public String openTime; // Format: "HH:mm" or "HH:mm:ss" (e.g., "09:00", "17:30")
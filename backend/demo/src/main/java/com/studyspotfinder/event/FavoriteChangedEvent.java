@@ -0,0 +1,21 @@
+package com.studyspotfinder.event;
+
+/**
+ * Published after a user's favorite flag for a spot has actually changed and committed.
+ */
+public class FavoriteChangedEvent {
+
+    private final Long userId;
+    private final Long spotId;
+    private final boolean favorite;
+
+    public FavoriteChangedEvent(Long userId, Long spotId, boolean favorite) {
+        this.userId = userId;
+        this.spotId = spotId;
+        this.favorite = favorite;
+    }
+
+    public Long getUserId() { return userId; }
+    public Long getSpotId() { return spotId; }
+    public boolean isFavorite() { return favorite; }
+}
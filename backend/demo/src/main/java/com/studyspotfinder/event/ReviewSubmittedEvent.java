@@ -0,0 +1,18 @@
+package com.studyspotfinder.event;
+
+/**
+ * Published after a review has been committed together with its rating-summary update.
+ */
+public class ReviewSubmittedEvent {
+
+    private final Long spotId;
+    private final int rating;
+
+    public ReviewSubmittedEvent(Long spotId, int rating) {
+        this.spotId = spotId;
+        this.rating = rating;
+    }
+
+    public Long getSpotId() { return spotId; }
+    public int getRating() { return rating; }
+}
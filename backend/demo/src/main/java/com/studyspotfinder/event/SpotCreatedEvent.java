@@ -0,0 +1,18 @@
+package com.studyspotfinder.event;
+
+import com.studyspotfinder.model.StudySpot;
+
+/**
+ * Published after a new study spot (with its hours) has been committed.
+ * In-memory indexes listen for it to stay in sync with the database.
+ */
+public class SpotCreatedEvent {
+
+    private final StudySpot spot;
+
+    public SpotCreatedEvent(StudySpot spot) {
+        this.spot = spot;
+    }
+
+    public StudySpot getSpot() { return spot; }
+}
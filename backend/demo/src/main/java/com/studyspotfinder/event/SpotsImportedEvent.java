@@ -0,0 +1,20 @@
+package com.studyspotfinder.event;
+
+import java.util.List;
+
+import com.studyspotfinder.model.StudySpot;
+
+/**
+ * Published once per committed bulk-import chunk, in place of a {@link SpotCreatedEvent} per
+ * spot, so in-memory indexes can absorb the whole chunk with a single rebuild.
+ */
+public class SpotsImportedEvent {
+
+    private final List<StudySpot> spots;
+
+    public SpotsImportedEvent(List<StudySpot> spots) {
+        this.spots = List.copyOf(spots);
+    }
+
+    public List<StudySpot> getSpots() { return spots; }
+}
@@ -0,0 +1,17 @@
+package com.studyspotfinder.event;
+
+/**
+ * Published after spot data was rewritten in bulk rather than spot by spot: a rating
+ * reconcile that corrected summaries, or a full reload of the spot catalog. Listeners that
+ * version what clients have seen must treat every spot as possibly changed.
+ */
+public class SpotsRefreshedEvent {
+
+    private final String source;
+
+    public SpotsRefreshedEvent(String source) {
+        this.source = source;
+    }
+
+    public String getSource() { return source; }
+}
@@ -0,0 +1,18 @@
+package com.studyspotfinder.index;
+
+/**
+ * A spot matched by a geo query together with its great-circle distance from the query point.
+ */
+public class GeoHit {
+
+    private final long spotId;
+    private final double distanceMeters;
+
+    public GeoHit(long spotId, double distanceMeters) {
+        this.spotId = spotId;
+        this.distanceMeters = distanceMeters;
+    }
+
+    public long getSpotId() { return spotId; }
+    public double getDistanceMeters() { return distanceMeters; }
+}
@@ -0,0 +1,268 @@
+package com.studyspotfinder.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.studyspotfinder.event.SpotCreatedEvent;
+import com.studyspotfinder.event.SpotsImportedEvent;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.WeeklySchedule;
+import com.studyspotfinder.repository.SpotScheduleRow;
+import com.studyspotfinder.repository.StudySpotRepository;
+
+/**
+ * Interval index over every spot's compiled opening hours, keyed by minute of the week.
+ * <p>
+ * Each schedule is unrolled over two consecutive weeks and merged, so an interval that runs
+ * past Saturday midnight continues into Sunday without a seam. Intervals are sorted by start
+ * and a max-end segment tree on top answers "start &lt;= t and end &gt;= t + d" by visiting
+ * only subtrees that can contain a match. The built arrays are immutable and swapped in
+ * with a single volatile write. New spots land in a second, small tree so a create or an
+ * import does not rebuild the whole index.
+ */
+@Component
+public class OpenHoursIndex {
+
+    // The recent tree is folded into the main one once it holds more than this many spots
+    // or 1/16 of all of them
+    private static final int MIN_RECENT_REBUILD = 256;
+
+    private final StudySpotRepository studySpotRepository;
+    private final Map<Long, WeeklySchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, WeeklySchedule> recent = new HashMap<>();
+
+    private volatile Layers layers = new Layers(Tree.EMPTY, Tree.EMPTY);
+    private volatile boolean ready;
+
+    public OpenHoursIndex(StudySpotRepository studySpotRepository) {
+        this.studySpotRepository = studySpotRepository;
+    }
+
+    /** False until the first load; an empty index must not be read as "nothing is open". */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reads every schedule and builds the index. Writers wait meanwhile, so a spot committed
+     * during the load is added on top of it rather than lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        schedules.clear();
+        for (SpotScheduleRow row : studySpotRepository.findAllSchedules()) {
+            schedules.put(row.getId(), row.getOpenSchedule());
+        }
+        rebuild();
+        ready = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotCreated(SpotCreatedEvent event) {
+        put(event.getSpot().getId(), event.getSpot().getOpenSchedule());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotsImported(SpotsImportedEvent event) {
+        Map<Long, WeeklySchedule> added = new HashMap<>(event.getSpots().size() * 2);
+        for (StudySpot spot : event.getSpots()) {
+            added.put(spot.getId(), spot.getOpenSchedule());
+        }
+        putAll(added);
+    }
+
+    public void put(long spotId, WeeklySchedule schedule) {
+        putAll(Map.of(spotId, schedule));
+    }
+
+    /**
+     * Adds or replaces schedules. New spots only rebuild the small tree of recent additions;
+     * replacing a spot of the main tree, or the recent tree outgrowing its share, rebuilds both.
+     */
+    public synchronized void putAll(Map<Long, WeeklySchedule> added) {
+        boolean replacesMain = false;
+        for (Map.Entry<Long, WeeklySchedule> e : added.entrySet()) {
+            WeeklySchedule previous = schedules.put(e.getKey(), e.getValue());
+            if (previous != null && !recent.containsKey(e.getKey())) replacesMain = true;
+            recent.put(e.getKey(), e.getValue());
+        }
+        if (replacesMain || recent.size() > Math.max(MIN_RECENT_REBUILD, schedules.size() / 16)) {
+            rebuild();
+        } else {
+            layers = new Layers(layers.main, Tree.of(recent));
+        }
+    }
+
+    /**
+     * Ids of spots open at {@code minuteOfWeek} that stay open for at least {@code minMinutes}
+     * more minutes (0 = merely open), in ascending id order.
+     */
+    public long[] openAt(int minuteOfWeek, int minMinutes) {
+        int t = Math.floorMod(minuteOfWeek, WeeklySchedule.MINUTES_PER_WEEK);
+        int until = t + Math.max(minMinutes, 1);
+        Layers l = layers;
+        long[] fromMain = l.main.stab(t, until);
+        long[] fromRecent = l.recent.stab(t, until);
+        // A spot lives in exactly one of the trees
+        long[] ids = Arrays.copyOf(fromMain, fromMain.length + fromRecent.length);
+        System.arraycopy(fromRecent, 0, ids, fromMain.length, fromRecent.length);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Number of open/close boundaries in the week at or before {@code minuteOfWeek}. Every spot's
+     * isOpen is constant between two consecutive boundaries, so equal epochs mean equal open states.
+     * Until the index is loaded every minute counts as its own (negative) epoch.
+     */
+    public int openStateEpoch(int minuteOfWeek) {
+        int t = Math.floorMod(minuteOfWeek, WeeklySchedule.MINUTES_PER_WEEK);
+        if (!ready) return -1 - t;
+        Layers l = layers;
+        // Summed per tree: still grows at every boundary of either tree and nowhere else
+        return Tree.upperBound(l.main.boundaries, t) + Tree.upperBound(l.recent.boundaries, t);
+    }
+
+    public int size() {
+        return schedules.size();
+    }
+
+    private void rebuild() {
+        recent.clear();
+        layers = new Layers(Tree.of(schedules), Tree.EMPTY);
+    }
+
+    // Both trees, swapped together so a reader never sees a spot in neither or in both
+    private static final class Layers {
+        final Tree main;
+        final Tree recent;
+
+        Layers(Tree main, Tree recent) {
+            this.main = main;
+            this.recent = recent;
+        }
+    }
+
+    private static final class Tree {
+        static final Tree EMPTY = build(new int[0], new int[0], new long[0]);
+
+        final int[] starts;
+        final int[] ends;
+        final long[] spotIds;
+        final int leaves;
+        final int[] maxEnd; // segment tree over ends, root at 1
+        final int[] boundaries; // distinct starts and ends folded into one week, ascending
+
+        private Tree(int[] starts, int[] ends, long[] spotIds, int leaves, int[] maxEnd, int[] boundaries) {
+            this.starts = starts;
+            this.ends = ends;
+            this.spotIds = spotIds;
+            this.leaves = leaves;
+            this.maxEnd = maxEnd;
+            this.boundaries = boundaries;
+        }
+
+        static Tree of(Map<Long, WeeklySchedule> schedules) {
+            int week = WeeklySchedule.MINUTES_PER_WEEK;
+            List<int[]> intervals = new ArrayList<>();
+            List<Long> owners = new ArrayList<>();
+            schedules.forEach((spotId, schedule) -> {
+                int n = schedule.intervalCount();
+                int openStart = -1;
+                int openEnd = -1;
+                // Two unrolled weeks, merging an interval that ends exactly where the next begins
+                for (int k = 0; k < 2 * n; k++) {
+                    int start = schedule.startAt(k % n) + (k / n) * week;
+                    int end = schedule.endAt(k % n) + (k / n) * week;
+                    if (openStart >= 0 && start <= openEnd) {
+                        openEnd = Math.max(openEnd, end);
+                        continue;
+                    }
+                    if (openStart >= 0 && openStart < week) {
+                        intervals.add(new int[] { openStart, openEnd });
+                        owners.add(spotId);
+                    }
+                    openStart = start;
+                    openEnd = end;
+                }
+                if (openStart >= 0 && openStart < week) {
+                    intervals.add(new int[] { openStart, openEnd });
+                    owners.add(spotId);
+                }
+            });
+
+            Integer[] order = new Integer[intervals.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Integer.compare(intervals.get(a)[0], intervals.get(b)[0]));
+
+            int[] starts = new int[order.length];
+            int[] ends = new int[order.length];
+            long[] spotIds = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                starts[i] = intervals.get(order[i])[0];
+                ends[i] = intervals.get(order[i])[1];
+                spotIds[i] = owners.get(order[i]);
+            }
+            return build(starts, ends, spotIds);
+        }
+
+        static Tree build(int[] starts, int[] ends, long[] spotIds) {
+            int leaves = 1;
+            while (leaves < starts.length) leaves <<= 1;
+            int[] maxEnd = new int[2 * leaves];
+            Arrays.fill(maxEnd, Integer.MIN_VALUE);
+            for (int i = 0; i < ends.length; i++) maxEnd[leaves + i] = ends[i];
+            for (int i = leaves - 1; i >= 1; i--) maxEnd[i] = Math.max(maxEnd[2 * i], maxEnd[2 * i + 1]);
+
+            int week = WeeklySchedule.MINUTES_PER_WEEK;
+            int[] boundaries = new int[2 * starts.length];
+            for (int i = 0; i < starts.length; i++) {
+                boundaries[2 * i] = starts[i] % week;
+                boundaries[2 * i + 1] = ends[i] % week;
+            }
+            boundaries = Arrays.stream(boundaries).sorted().distinct().toArray();
+            return new Tree(starts, ends, spotIds, leaves, maxEnd, boundaries);
+        }
+
+        // Owners of intervals with start <= t and end >= until
+        long[] stab(int t, int until) {
+            int prefix = upperBound(starts, t);
+            long[] out = new long[16];
+            int[] count = new int[1];
+            out = collect(1, 0, leaves, prefix, until, out, count);
+            return Arrays.copyOf(out, count[0]);
+        }
+
+        private long[] collect(int node, int lo, int hi, int prefix, int until, long[] out, int[] count) {
+            if (lo >= prefix || maxEnd[node] < until) return out;
+            if (hi - lo == 1) {
+                if (count[0] == out.length) out = Arrays.copyOf(out, out.length * 2);
+                out[count[0]++] = spotIds[lo];
+                return out;
+            }
+            int mid = (lo + hi) >>> 1;
+            out = collect(2 * node, lo, mid, prefix, until, out, count);
+            return collect(2 * node + 1, mid, hi, prefix, until, out, count);
+        }
+
+        private static int upperBound(int[] a, int key) {
+            int lo = 0;
+            int hi = a.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (a[mid] <= key) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
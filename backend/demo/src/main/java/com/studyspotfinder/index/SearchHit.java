@@ -0,0 +1,18 @@
+package com.studyspotfinder.index;
+
+/**
+ * A spot matched by a text query together with its relevance score (higher is better).
+ */
+public class SearchHit {
+
+    private final long spotId;
+    private final double score;
+
+    public SearchHit(long spotId, double score) {
+        this.spotId = spotId;
+        this.score = score;
+    }
+
+    public long getSpotId() { return spotId; }
+    public double getScore() { return score; }
+}
@@ -0,0 +1,279 @@
+package com.studyspotfinder.index;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.studyspotfinder.event.SpotCreatedEvent;
+import com.studyspotfinder.event.SpotsImportedEvent;
+import com.studyspotfinder.repository.SpotNameRow;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.service.SpotPopularityService;
+
+/**
+ * Typeahead over spot names and types, ranked by popularity.
+ * <p>
+ * Every word start of a spot's folded name ("memorial library", "library" for "Doheny Memorial
+ * Library") and its folded type is a key. A key is stored as a (spot, offset) pair into the
+ * spot's one folded name, not as a string of its own, and the pairs are sorted by the text they
+ * point at, so the keys starting with a typed prefix form a contiguous range found by binary
+ * search; a max segment tree over
+ * the keys' popularity then yields the top suggestions of that range in O(k log n) without
+ * scanning it. Popularity is {@link SpotPopularityService#popularScore}, the ranking of
+ * {@code sort=popular}: 2 per favorite plus 1 per review.
+ * <p>
+ * The arrays are rebuilt off the request path (new spots mark the index dirty; popularity is
+ * refreshed on an interval) and swapped in with a single volatile write.
+ */
+@Component
+public class SpotAutocompleteIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SpotAutocompleteIndex.class);
+
+    private final StudySpotRepository studySpotRepository;
+    private final SpotPopularityService spotPopularityService;
+    private final long maxAgeNanos;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of(), Map.of());
+    private volatile boolean dirty;
+    private volatile long builtAt = System.nanoTime();
+
+    public SpotAutocompleteIndex(StudySpotRepository studySpotRepository,
+                                 SpotPopularityService spotPopularityService,
+                                 @Value("${spots.autocomplete.max-age:5m}") Duration maxAge) {
+        this.studySpotRepository = studySpotRepository;
+        this.spotPopularityService = spotPopularityService;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // Cleared before reading, so a spot created during the read marks the index dirty again
+        dirty = false;
+        List<SpotSuggestion> spots = new ArrayList<>();
+        Map<Long, Long> popularity = new HashMap<>();
+        for (SpotNameRow row : studySpotRepository.findAllNameRows()) {
+            spots.add(new SpotSuggestion(row.getId(), row.getName(), row.getType()));
+            popularity.put(row.getId(), spotPopularityService.popularScore(row.getId()));
+        }
+        replace(spots, popularity);
+    }
+
+    /** Rebuilds when spots were added since the last build, or when popularity is older than max-age. */
+    @Scheduled(fixedDelayString = "${spots.autocomplete.refresh-check:15s}",
+               initialDelayString = "${spots.autocomplete.refresh-check:15s}")
+    public void refresh() {
+        if (dirty || System.nanoTime() - builtAt > maxAgeNanos) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                // Keep serving the previous snapshot; the next check retries
+                dirty = true;
+                log.warn("Autocomplete rebuild failed", e);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotCreated(SpotCreatedEvent event) {
+        dirty = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotsImported(SpotsImportedEvent event) {
+        dirty = true;
+    }
+
+    /** Swaps in a snapshot built from {@code spots}; popularity defaults to 0. */
+    public synchronized void replace(List<SpotSuggestion> spots, Map<Long, Long> popularity) {
+        Snapshot next = Snapshot.build(spots, popularity);
+        builtAt = System.nanoTime();
+        snapshot = next;
+    }
+
+    /**
+     * Up to {@code limit} spots with a name word or type starting with {@code prefix} (folded),
+     * most popular first; ties go to the shorter name, then the lower id.
+     */
+    public List<SpotSuggestion> suggest(String prefix, int limit) {
+        String key = TextNormalizer.fold(prefix).strip();
+        Snapshot s = snapshot;
+        if (key.isEmpty() || limit <= 0 || s.keySpot.length == 0) return List.of();
+        int from = s.lowerBound(key, false);
+        int to = s.lowerBound(key, true);
+        if (from >= to) return List.of();
+
+        // Best-first walk of the tree: pop the best node, push its children that overlap [from, to)
+        PriorityQueue<int[]> frontier = new PriorityQueue<>((a, b) -> s.compare(b[1], a[1]));
+        push(frontier, s, 1, 0, s.leaves, from, to);
+        List<SpotSuggestion> out = new ArrayList<>(limit);
+        Set<Integer> seen = new HashSet<>();
+        while (!frontier.isEmpty() && out.size() < limit) {
+            int[] node = frontier.poll();
+            int n = node[0], lo = node[2], hi = node[3];
+            if (hi - lo == 1) {
+                // A spot can own several keys in the range; it is suggested once
+                if (seen.add(s.keySpot[lo])) out.add(s.spots[s.keySpot[lo]]);
+                continue;
+            }
+            int mid = (lo + hi) >>> 1;
+            push(frontier, s, 2 * n, lo, mid, from, to);
+            push(frontier, s, 2 * n + 1, mid, hi, from, to);
+        }
+        return out;
+    }
+
+    public int size() {
+        return snapshot.spots.length;
+    }
+
+    // Queues the parts of node [lo, hi) inside [from, to): whole nodes with their stored best, partial ones split
+    private static void push(PriorityQueue<int[]> frontier, Snapshot s, int n, int lo, int hi, int from, int to) {
+        if (from <= lo && hi <= to) {
+            if (s.best[n] >= 0) frontier.add(new int[] { n, s.best[n], lo, hi });
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (from < mid) push(frontier, s, 2 * n, lo, mid, from, to);
+        if (to > mid) push(frontier, s, 2 * n + 1, mid, hi, from, to);
+    }
+
+    private static final class Snapshot {
+        // keyOffset of a spot's type key
+        static final int TYPE_KEY = -1;
+
+        final SpotSuggestion[] spots;
+        final long[] popularity;  // per spot
+        final String[] names;     // per spot: folded name
+        final String[] types;     // per spot: folded, stripped type; shared between spots of a type
+        final int[] keySpot;      // per key, sorted by key text: index into spots
+        final int[] keyOffset;    // per key: start of the key in the spot's folded name, or TYPE_KEY
+        final int leaves;
+        final int[] best;         // max segment tree over keys, root at 1: key index of the best leaf, -1 if none
+
+        private Snapshot(SpotSuggestion[] spots, long[] popularity, String[] names, String[] types,
+                         int[] keySpot, int[] keyOffset) {
+            this.spots = spots;
+            this.popularity = popularity;
+            this.names = names;
+            this.types = types;
+            this.keySpot = keySpot;
+            this.keyOffset = keyOffset;
+            int size = 1;
+            while (size < keySpot.length) size <<= 1;
+            this.leaves = size;
+            this.best = new int[2 * size];
+            Arrays.fill(best, -1);
+            for (int i = 0; i < keySpot.length; i++) best[size + i] = i;
+            for (int i = size - 1; i >= 1; i--) {
+                int l = best[2 * i], r = best[2 * i + 1];
+                best[i] = l < 0 ? r : r < 0 ? l : compare(l, r) >= 0 ? l : r;
+            }
+        }
+
+        static Snapshot build(List<SpotSuggestion> spots, Map<Long, Long> popularity) {
+            SpotSuggestion[] spotArray = spots.toArray(new SpotSuggestion[0]);
+            long[] pop = new long[spotArray.length];
+            String[] names = new String[spotArray.length];
+            String[] types = new String[spotArray.length];
+            Map<String, String> typePool = new HashMap<>();
+            List<Long> keys = new ArrayList<>();  // spot index in the high half, offset in the low
+            for (int i = 0; i < spotArray.length; i++) {
+                pop[i] = popularity.getOrDefault(spotArray[i].getId(), 0L);
+                String name = TextNormalizer.fold(spotArray[i].getName());
+                names[i] = name;
+                for (int c = 0; c < name.length(); c++) {
+                    boolean wordStart = Character.isLetterOrDigit(name.charAt(c))
+                            && (c == 0 || !Character.isLetterOrDigit(name.charAt(c - 1)));
+                    if (wordStart) keys.add((long) i << 32 | c);
+                }
+                String type = TextNormalizer.fold(spotArray[i].getType()).strip();
+                types[i] = typePool.computeIfAbsent(type, t -> t);
+                if (!type.isEmpty()) keys.add((long) i << 32 | (TYPE_KEY & 0xFFFFFFFFL));
+            }
+            Snapshot unsorted = new Snapshot(spotArray, pop, names, types, new int[0], new int[0]);
+            Long[] order = keys.toArray(new Long[0]);
+            Arrays.sort(order, (a, b) -> unsorted.compareText((int) (a >>> 32), (int) (long) a,
+                    (int) (b >>> 32), (int) (long) b));
+            int[] keySpot = new int[order.length];
+            int[] keyOffset = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                keySpot[i] = (int) (order[i] >>> 32);
+                keyOffset[i] = (int) (long) order[i];
+            }
+            return new Snapshot(spotArray, pop, names, types, keySpot, keyOffset);
+        }
+
+        /**
+         * The first key whose text does not sort before {@code prefix}; with {@code past}, the first
+         * one that sorts after every text starting with it.
+         */
+        int lowerBound(String prefix, boolean past) {
+            int lo = 0;
+            int hi = keySpot.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = compareToPrefix(mid, prefix);
+                if (cmp < 0 || (past && cmp == 0)) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        // Negative if the key sorts before prefix, 0 if it starts with it, positive if it sorts after
+        private int compareToPrefix(int key, String prefix) {
+            String text = text(keySpot[key], keyOffset[key]);
+            int start = start(keyOffset[key]);
+            for (int i = 0; i < prefix.length(); i++) {
+                if (start + i == text.length()) return -1;
+                int diff = text.charAt(start + i) - prefix.charAt(i);
+                if (diff != 0) return diff;
+            }
+            return 0;
+        }
+
+        // Lexicographic order of the texts two (spot, offset) keys point at
+        private int compareText(int spotA, int offsetA, int spotB, int offsetB) {
+            String a = text(spotA, offsetA), b = text(spotB, offsetB);
+            int i = start(offsetA), j = start(offsetB);
+            while (i < a.length() && j < b.length()) {
+                int diff = a.charAt(i++) - b.charAt(j++);
+                if (diff != 0) return diff;
+            }
+            return (a.length() - i) - (b.length() - j);
+        }
+
+        private String text(int spot, int offset) {
+            return offset == TYPE_KEY ? types[spot] : names[spot];
+        }
+
+        private static int start(int offset) {
+            return offset == TYPE_KEY ? 0 : offset;
+        }
+
+        // Orders keys by their spot: more popular, then shorter name, then lower id
+        int compare(int keyA, int keyB) {
+            int a = keySpot[keyA], b = keySpot[keyB];
+            if (popularity[a] != popularity[b]) return Long.compare(popularity[a], popularity[b]);
+            int lenA = spots[a].getName() == null ? 0 : spots[a].getName().length();
+            int lenB = spots[b].getName() == null ? 0 : spots[b].getName().length();
+            if (lenA != lenB) return Integer.compare(lenB, lenA);
+            return Long.compare(spots[b].getId(), spots[a].getId());
+        }
+    }
+}
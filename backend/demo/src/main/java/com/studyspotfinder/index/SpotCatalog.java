@@ -0,0 +1,384 @@
+package com.studyspotfinder.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.studyspotfinder.controller.StudySpotController.StudySpotResponse;
+import com.studyspotfinder.event.ReviewSubmittedEvent;
+import com.studyspotfinder.event.SpotCreatedEvent;
+import com.studyspotfinder.event.SpotsImportedEvent;
+import com.studyspotfinder.event.SpotsRefreshedEvent;
+import com.studyspotfinder.model.SpotRatingSummary;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.WeeklySchedule;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.service.RatingSummaryService;
+
+/**
+ * Read model of the whole spot catalog, ordered by spot id: each field readers need (the
+ * pre-rendered hours strings, position, rating histogram and compiled schedule) in its own
+ * column array. Responses are built from the columns per read, with isOpen evaluated for the
+ * caller's "now", so the catalog holds no response objects of its own.
+ * <p>
+ * The columns of a snapshot are never modified. New and imported spots are merged into a copy,
+ * a full load runs at startup, on {@code spots.catalog.refresh-interval} and after a rating
+ * reconcile, and each is published with a single volatile write, so readers take no locks and
+ * see either the old catalog or the new one. A review only replaces its spot's histogram in
+ * place (one atomic slot, read back from the committed summary), so it costs neither a copy nor
+ * a wait for a running load. With {@code spots.catalog.enabled=false} nothing is loaded and
+ * callers use the database.
+ * <p>
+ * Paged listings (GET /api/spots with a filter, sort=name|rating|distance, limit or cursor) are
+ * deliberately not served from here: their filters and keyset order are the database's job.
+ */
+@Component
+public class SpotCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(SpotCatalog.class);
+
+    private final StudySpotRepository studySpotRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+
+    private volatile Snapshot snapshot;
+    // One load at a time; writers only take this object's monitor, and only briefly
+    private final Object loadLock = new Object();
+    // Writes that arrived while a load was reading the database, replayed onto its snapshot;
+    // null when no load is running. Guarded by this
+    private List<Row> pendingRows;
+    private Map<Long, int[]> pendingHistograms;
+
+    public SpotCatalog(StudySpotRepository studySpotRepository,
+                       RatingSummaryService ratingSummaryService,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${spots.catalog.enabled:true}") boolean enabled) {
+        this.studySpotRepository = studySpotRepository;
+        this.ratingSummaryService = ratingSummaryService;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    /** True once a snapshot has been loaded; until then (or when disabled) reads go to the database. */
+    public boolean isReady() {
+        return enabled && snapshot != null;
+    }
+
+    public int size() {
+        Snapshot s = snapshot;
+        return s == null ? 0 : s.ids.length;
+    }
+
+    /**
+     * Builds a snapshot from the database and swaps it in. Writers are not held up meanwhile:
+     * changes committed during the load are queued and applied on top of the new snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) return;
+        synchronized (loadLock) {
+            synchronized (this) {
+                pendingRows = new ArrayList<>();
+                pendingHistograms = new HashMap<>();
+            }
+            try {
+                Map<Long, SpotRatingSummary> summaries = ratingSummaryService.findAll();
+                List<StudySpot> spots = studySpotRepository.findAll();
+                List<Row> rows = new ArrayList<>(spots.size());
+                for (StudySpot spot : spots) rows.add(Row.of(spot, summaries.get(spot.getId())));
+                rows.sort(Comparator.comparingLong(r -> r.id));
+                Snapshot next = Snapshot.EMPTY.with(rows);
+                synchronized (this) {
+                    next = next.with(sorted(pendingRows));
+                    for (Map.Entry<Long, int[]> e : pendingHistograms.entrySet()) next.rate(e.getKey(), e.getValue());
+                    snapshot = next;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingRows = null;
+                    pendingHistograms = null;
+                }
+            }
+        }
+        // The reload may carry changes made outside this process
+        eventPublisher.publishEvent(new SpotsRefreshedEvent("catalog"));
+    }
+
+    /** Full reload, picking up changes made outside this process (other instances, rating reconciles). */
+    @Scheduled(fixedDelayString = "${spots.catalog.refresh-interval:10m}",
+               initialDelayString = "${spots.catalog.refresh-interval:10m}")
+    public void refresh() {
+        if (!isReady()) return;
+        try {
+            load();
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot; the next refresh retries
+            log.warn("Spot catalog refresh failed", e);
+        }
+    }
+
+    // A reconcile may lower review counts, which per-review updates never do
+    @EventListener
+    public void onSpotsRefreshed(SpotsRefreshedEvent event) {
+        if (!"catalog".equals(event.getSource())) refresh();
+    }
+
+    // Readiness is checked under the lock: an event arriving during a load is queued for it; one
+    // arriving before the first load is in the database that load reads
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSpotCreated(SpotCreatedEvent event) {
+        // A new spot has no reviews yet
+        merge(List.of(Row.of(event.getSpot(), null)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSpotsImported(SpotsImportedEvent event) {
+        List<Row> rows = new ArrayList<>(event.getSpots().size());
+        for (StudySpot spot : event.getSpots()) rows.add(Row.of(spot, null));
+        merge(rows);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        if (!enabled) return;
+        // The committed summary is read back rather than adjusted in place, so a replayed event is
+        // harmless; of two reviews applied out of order the one counting more reviews wins
+        SpotRatingSummary summary = ratingSummaryService.findBySpotId(event.getSpotId()).orElse(null);
+        if (summary == null) return;
+        int[] histogram = summary.getHistogram();
+        synchronized (this) {
+            if (pendingHistograms != null) pendingHistograms.merge(event.getSpotId(), histogram, Snapshot::newer);
+            if (isReady()) snapshot.rate(event.getSpotId(), histogram);
+        }
+    }
+
+    /** The spot's response with isOpen at {@code nowMinuteOfWeek}, or null if it is not in the catalog. */
+    public StudySpotResponse get(long spotId, int nowMinuteOfWeek) {
+        Snapshot s = snapshot;
+        if (s == null) return null;
+        int at = Arrays.binarySearch(s.ids, spotId);
+        return at < 0 ? null : s.response(at, nowMinuteOfWeek);
+    }
+
+    /** Responses for {@code spotIds} in the given order; ids not in the catalog are left out. */
+    public Map<Long, StudySpotResponse> getAll(Collection<Long> spotIds, int nowMinuteOfWeek) {
+        Snapshot s = snapshot;
+        Map<Long, StudySpotResponse> responses = new LinkedHashMap<>(spotIds.size() * 2);
+        if (s == null) return responses;
+        for (Long spotId : spotIds) {
+            int at = Arrays.binarySearch(s.ids, spotId);
+            if (at >= 0) responses.put(spotId, s.response(at, nowMinuteOfWeek));
+        }
+        return responses;
+    }
+
+    /** Every spot's response, in id order. */
+    public List<StudySpotResponse> all(int nowMinuteOfWeek) {
+        Snapshot s = snapshot;
+        if (s == null) return List.of();
+        List<StudySpotResponse> responses = new ArrayList<>(s.ids.length);
+        for (int i = 0; i < s.ids.length; i++) responses.add(s.response(i, nowMinuteOfWeek));
+        return responses;
+    }
+
+    // Caller holds the lock
+    private void merge(List<Row> rows) {
+        if (pendingRows != null) pendingRows.addAll(rows);
+        if (isReady()) snapshot = snapshot.with(sorted(rows));
+    }
+
+    private static List<Row> sorted(List<Row> rows) {
+        List<Row> copy = new ArrayList<>(rows);
+        copy.sort(Comparator.comparingLong(r -> r.id));
+        return copy;
+    }
+
+    // One spot while a snapshot is being built
+    private static final class Row {
+        final long id;
+        final String name;
+        final String type;
+        final String hours;
+        final String hoursByDay;
+        final String note;
+        final String image;
+        final double latitude;  // NaN when the spot has no position
+        final double longitude;
+        final int[] histogram;
+        final WeeklySchedule schedule;
+
+        private Row(StudySpot spot, int[] histogram) {
+            this.id = spot.getId();
+            this.name = spot.getName();
+            this.type = spot.getType();
+            this.hours = spot.getHoursFormatted();
+            this.hoursByDay = spot.getHoursJson();
+            this.note = spot.getNote();
+            this.image = spot.getImage();
+            double[] position = spot.getPosition();
+            this.latitude = position.length == 2 ? position[0] : Double.NaN;
+            this.longitude = position.length == 2 ? position[1] : Double.NaN;
+            this.histogram = histogram;
+            this.schedule = spot.getOpenSchedule();
+        }
+
+        static Row of(StudySpot spot, SpotRatingSummary summary) {
+            return new Row(spot, summary != null ? summary.getHistogram() : new int[5]);
+        }
+    }
+
+    // Parallel column arrays by ascending spot id. Only histogramUpdates changes after
+    // construction: a review swaps its spot's histogram in with one atomic write
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0);
+
+        final long[] ids;
+        final String[] names;
+        final String[] types;
+        final String[] hours;
+        final String[] hoursByDay;
+        final String[] notes;
+        final String[] images;
+        final double[] latitudes;
+        final double[] longitudes;
+        final int[] histograms;  // five counts per spot, 1-star first, as loaded or merged
+        final AtomicReferenceArray<int[]> histogramUpdates;  // null until the spot is reviewed
+        final WeeklySchedule[] schedules;
+
+        private Snapshot(int size) {
+            ids = new long[size];
+            names = new String[size];
+            types = new String[size];
+            hours = new String[size];
+            hoursByDay = new String[size];
+            notes = new String[size];
+            images = new String[size];
+            latitudes = new double[size];
+            longitudes = new double[size];
+            histograms = new int[size * 5];
+            histogramUpdates = new AtomicReferenceArray<>(size);
+            schedules = new WeeklySchedule[size];
+        }
+
+        StudySpotResponse response(int at, int nowMinuteOfWeek) {
+            StudySpotResponse r = new StudySpotResponse();
+            r.id = ids[at];
+            r.name = names[at];
+            r.type = types[at];
+            r.hours = hours[at];
+            r.hoursByDay = hoursByDay[at];
+            r.isOpen = schedules[at].isOpenAt(nowMinuteOfWeek) ? 1 : 0;
+            int[] histogram = histogram(at);
+            int count = 0;
+            long sum = 0;
+            for (int star = 1; star <= 5; star++) {
+                count += histogram[star - 1];
+                sum += (long) star * histogram[star - 1];
+            }
+            r.rating = count == 0 ? 0.0 : (double) sum / count;
+            r.reviewCount = count;
+            r.ratingHistogram = histogram;
+            r.note = notes[at];
+            r.position = Double.isNaN(latitudes[at]) ? new double[0] : new double[] { latitudes[at], longitudes[at] };
+            r.image = images[at];
+            return r;
+        }
+
+        // A fresh array: responses hand it to callers
+        int[] histogram(int at) {
+            int[] updated = histogramUpdates.get(at);
+            return updated != null ? updated.clone() : Arrays.copyOfRange(histograms, at * 5, at * 5 + 5);
+        }
+
+        /** Sets the spot's histogram unless the one it has already counts more reviews. Caller holds the lock. */
+        void rate(long spotId, int[] histogram) {
+            int at = Arrays.binarySearch(ids, spotId);
+            if (at < 0) return;
+            if (newer(histogram(at), histogram) == histogram) histogramUpdates.set(at, histogram.clone());
+        }
+
+        static int[] newer(int[] a, int[] b) {
+            return Arrays.stream(b).sum() >= Arrays.stream(a).sum() ? b : a;
+        }
+
+        /** A copy with {@code rows} (ascending id) added; spots already held are kept as they are. */
+        Snapshot with(List<Row> rows) {
+            if (rows.isEmpty()) return this;
+            // Most spots share a type and opening hours; keep one copy of each string
+            Map<String, String> pool = new HashMap<>();
+            Snapshot next = new Snapshot(ids.length + rows.size());
+            int i = 0, j = 0, n = 0;
+            while (i < ids.length || j < rows.size()) {
+                Row row = j < rows.size() ? rows.get(j) : null;
+                if (row == null || (i < ids.length && ids[i] <= row.id)) {
+                    // Spots never change after creation, so an event for one already held adds nothing
+                    while (row != null && ids[i] == row.id) row = ++j < rows.size() ? rows.get(j) : null;
+                    next.copy(n++, this, i++);
+                    continue;
+                }
+                // Of repeated ids within rows the first is kept
+                while (j + 1 < rows.size() && rows.get(j + 1).id == row.id) j++;
+                j++;
+                next.set(n++, row, pool);
+            }
+            return n == next.ids.length ? next : next.truncate(n);
+        }
+
+        private void copy(int to, Snapshot from, int at) {
+            ids[to] = from.ids[at];
+            names[to] = from.names[at];
+            types[to] = from.types[at];
+            hours[to] = from.hours[at];
+            hoursByDay[to] = from.hoursByDay[at];
+            notes[to] = from.notes[at];
+            images[to] = from.images[at];
+            latitudes[to] = from.latitudes[at];
+            longitudes[to] = from.longitudes[at];
+            System.arraycopy(from.histograms, at * 5, histograms, to * 5, 5);
+            int[] updated = from.histogramUpdates.get(at);
+            if (updated != null) System.arraycopy(updated, 0, histograms, to * 5, 5);
+            schedules[to] = from.schedules[at];
+        }
+
+        private void set(int to, Row row, Map<String, String> pool) {
+            ids[to] = row.id;
+            names[to] = row.name;
+            types[to] = pooled(pool, row.type);
+            hours[to] = pooled(pool, row.hours);
+            hoursByDay[to] = pooled(pool, row.hoursByDay);
+            notes[to] = row.note;
+            images[to] = row.image;
+            latitudes[to] = row.latitude;
+            longitudes[to] = row.longitude;
+            System.arraycopy(row.histogram, 0, histograms, to * 5, 5);
+            schedules[to] = row.schedule;
+        }
+
+        private static String pooled(Map<String, String> pool, String value) {
+            return value == null ? null : pool.computeIfAbsent(value, v -> v);
+        }
+
+        private Snapshot truncate(int size) {
+            Snapshot out = new Snapshot(size);
+            for (int k = 0; k < size; k++) out.copy(k, this, k);
+            return out;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.studyspotfinder.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.studyspotfinder.event.SpotCreatedEvent;
+import com.studyspotfinder.event.SpotsImportedEvent;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.repository.SpotCoordinates;
+import com.studyspotfinder.repository.StudySpotRepository;
+
+/**
+ * In-memory uniform grid over spot coordinates. Each cell holds parallel primitive
+ * arrays and is replaced (never mutated) on insert, so queries run lock-free.
+ * Until the first load has finished {@link #isReady()} is false and callers must not
+ * read an empty grid as "no spots here".
+ */
+@Component
+public class SpotGeoIndex {
+
+    // ~1.1 km of latitude per cell: a campus viewport touches a handful of cells
+    static final double CELL_DEGREES = 0.01;
+    static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private final StudySpotRepository studySpotRepository;
+
+    private volatile Map<Long, Cell> cells = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public SpotGeoIndex(StudySpotRepository studySpotRepository) {
+        this.studySpotRepository = studySpotRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reads every position and swaps in a new grid. Inserts wait meanwhile, so a spot
+     * committed during the load is added on top of it rather than lost (or kept once, if the
+     * load already read it).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        rebuild(studySpotRepository.findAllCoordinates());
+        ready = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotCreated(SpotCreatedEvent event) {
+        StudySpot spot = event.getSpot();
+        if (spot.getLatitude() != null && spot.getLongitude() != null) {
+            put(spot.getId(), spot.getLatitude(), spot.getLongitude());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotsImported(SpotsImportedEvent event) {
+        for (StudySpot spot : event.getSpots()) {
+            if (spot.getLatitude() != null && spot.getLongitude() != null) {
+                put(spot.getId(), spot.getLatitude(), spot.getLongitude());
+            }
+        }
+    }
+
+    public synchronized void rebuild(List<SpotCoordinates> spots) {
+        Map<Long, List<SpotCoordinates>> grouped = new HashMap<>();
+        for (SpotCoordinates s : spots) {
+            grouped.computeIfAbsent(cellKey(cellIndex(s.getLatitude()), cellIndex(s.getLongitude())),
+                    k -> new ArrayList<>()).add(s);
+        }
+        Map<Long, Cell> built = new ConcurrentHashMap<>();
+        grouped.forEach((key, members) -> built.put(key, Cell.of(members)));
+        cells = built;
+    }
+
+    public synchronized void put(long spotId, double lat, double lng) {
+        int latIdx = cellIndex(lat);
+        int lngIdx = cellIndex(lng);
+        cells.compute(cellKey(latIdx, lngIdx), (k, cell) -> cell == null
+                ? new Cell(latIdx, lngIdx, new long[] { spotId }, new double[] { lat }, new double[] { lng })
+                : cell.with(spotId, lat, lng));
+    }
+
+    /**
+     * Spots inside the box, nearest to (centerLat, centerLng) first, at most {@code limit} of them.
+     */
+    public List<GeoHit> within(double minLat, double maxLat, double minLng, double maxLng,
+                               double centerLat, double centerLng, int limit) {
+        NearestCollector collector = new NearestCollector(limit);
+        forEachCandidateCell(minLat, maxLat, minLng, maxLng, cell -> {
+            for (int i = 0; i < cell.ids.length; i++) {
+                double lat = cell.lats[i];
+                double lng = cell.lngs[i];
+                if (lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng) {
+                    collector.offer(cell.ids[i], haversineMeters(centerLat, centerLng, lat, lng));
+                }
+            }
+        });
+        return collector.toSortedHits();
+    }
+
+    /**
+     * The {@code limit} spots nearest to the point within {@code radiusMeters}, nearest first.
+     */
+    public List<GeoHit> nearest(double lat, double lng, double radiusMeters, int limit) {
+        double dLat = radiusMeters / METERS_PER_DEGREE_LAT;
+        double cosLat = Math.max(Math.cos(Math.toRadians(lat)), 1e-6);
+        double dLng = Math.min(radiusMeters / (METERS_PER_DEGREE_LAT * cosLat), 180.0);
+
+        NearestCollector collector = new NearestCollector(limit);
+        forEachCandidateCell(lat - dLat, lat + dLat, lng - dLng, lng + dLng, cell -> {
+            for (int i = 0; i < cell.ids.length; i++) {
+                double d = haversineMeters(lat, lng, cell.lats[i], cell.lngs[i]);
+                if (d <= radiusMeters) {
+                    collector.offer(cell.ids[i], d);
+                }
+            }
+        });
+        return collector.toSortedHits();
+    }
+
+    public int size() {
+        int n = 0;
+        for (Cell cell : cells.values()) {
+            n += cell.ids.length;
+        }
+        return n;
+    }
+
+    public static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void forEachCandidateCell(double minLat, double maxLat, double minLng, double maxLng,
+                                      Consumer<Cell> action) {
+        Map<Long, Cell> current = cells;
+        int latLo = cellIndex(minLat);
+        int latHi = cellIndex(maxLat);
+        int lngLo = cellIndex(minLng);
+        int lngHi = cellIndex(maxLng);
+        long span = (long) (latHi - latLo + 1) * (lngHi - lngLo + 1);
+
+        if (span <= current.size()) {
+            // Small box: probe each covered cell directly
+            for (int la = latLo; la <= latHi; la++) {
+                for (int ln = lngLo; ln <= lngHi; ln++) {
+                    Cell cell = current.get(cellKey(la, ln));
+                    if (cell != null) action.accept(cell);
+                }
+            }
+        } else {
+            // Zoomed-out box covers more cells than exist: walk the occupied ones
+            for (Cell cell : current.values()) {
+                if (cell.latIdx >= latLo && cell.latIdx <= latHi && cell.lngIdx >= lngLo && cell.lngIdx <= lngHi) {
+                    action.accept(cell);
+                }
+            }
+        }
+    }
+
+    static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    static long cellKey(int latIdx, int lngIdx) {
+        return ((long) latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+
+    private static final class Cell {
+        final int latIdx;
+        final int lngIdx;
+        final long[] ids;
+        final double[] lats;
+        final double[] lngs;
+
+        Cell(int latIdx, int lngIdx, long[] ids, double[] lats, double[] lngs) {
+            this.latIdx = latIdx;
+            this.lngIdx = lngIdx;
+            this.ids = ids;
+            this.lats = lats;
+            this.lngs = lngs;
+        }
+
+        static Cell of(List<SpotCoordinates> members) {
+            int n = members.size();
+            long[] ids = new long[n];
+            double[] lats = new double[n];
+            double[] lngs = new double[n];
+            for (int i = 0; i < n; i++) {
+                SpotCoordinates s = members.get(i);
+                ids[i] = s.getId();
+                lats[i] = s.getLatitude();
+                lngs[i] = s.getLongitude();
+            }
+            return new Cell(cellIndex(lats[0]), cellIndex(lngs[0]), ids, lats, lngs);
+        }
+
+        // A spot already in the cell (a create event racing the load) is moved, not repeated
+        Cell with(long id, double lat, double lng) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    double[] newLats = lats.clone();
+                    double[] newLngs = lngs.clone();
+                    newLats[i] = lat;
+                    newLngs[i] = lng;
+                    return new Cell(latIdx, lngIdx, ids, newLats, newLngs);
+                }
+            }
+            int n = ids.length;
+            long[] newIds = Arrays.copyOf(ids, n + 1);
+            double[] newLats = Arrays.copyOf(lats, n + 1);
+            double[] newLngs = Arrays.copyOf(lngs, n + 1);
+            newIds[n] = id;
+            newLats[n] = lat;
+            newLngs[n] = lng;
+            return new Cell(latIdx, lngIdx, newIds, newLats, newLngs);
+        }
+    }
+
+    /**
+     * Bounded max-heap on distance that keeps the {@code limit} nearest hits.
+     */
+    private static final class NearestCollector {
+        private final int limit;
+        private final long[] ids;
+        private final double[] dists;
+        private int size;
+
+        NearestCollector(int limit) {
+            this.limit = limit;
+            this.ids = new long[Math.max(limit, 0)];
+            this.dists = new double[Math.max(limit, 0)];
+        }
+
+        void offer(long id, double dist) {
+            if (limit <= 0) return;
+            if (size < limit) {
+                ids[size] = id;
+                dists[size] = dist;
+                siftUp(size++);
+            } else if (dist < dists[0]) {
+                ids[0] = id;
+                dists[0] = dist;
+                siftDown(0);
+            }
+        }
+
+        List<GeoHit> toSortedHits() {
+            GeoHit[] out = new GeoHit[size];
+            // Pop the farthest repeatedly, filling from the back
+            while (size > 0) {
+                out[size - 1] = new GeoHit(ids[0], dists[0]);
+                size--;
+                ids[0] = ids[size];
+                dists[0] = dists[size];
+                siftDown(0);
+            }
+            return Arrays.asList(out);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (dists[parent] >= dists[i]) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) break;
+                int largest = left + 1 < size && dists[left + 1] > dists[left] ? left + 1 : left;
+                if (dists[i] >= dists[largest]) break;
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double d = dists[a];
+            dists[a] = dists[b];
+            dists[b] = d;
+        }
+    }
+}
@@ -0,0 +1,542 @@
+package com.studyspotfinder.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.studyspotfinder.event.SpotCreatedEvent;
+import com.studyspotfinder.event.SpotsImportedEvent;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.repository.SpotSearchRow;
+import com.studyspotfinder.repository.StudySpotRepository;
+
+/**
+ * In-memory inverted index over spot name, type, description and note, ranked with BM25.
+ * <p>
+ * Fields are weighted (a name hit counts {@value #NAME_WEIGHT}x, type {@value #TYPE_WEIGHT}x) into
+ * one term frequency per document. The last query token also matches as a prefix, so results
+ * follow the user's typing; completions score a little below the exact word.
+ * <p>
+ * The index is a list of immutable segments, each with a sorted term dictionary and primitive
+ * posting arrays. New spots arrive as a new segment and neighbouring segments are merged while
+ * the older one is no larger than the newer (a binary-counter scheme), so adds stay cheap and
+ * the segment count stays logarithmic. The segment list is swapped with a single volatile write;
+ * queries never lock.
+ * <p>
+ * Length normalization uses the average document length over all segments, taken per query, so a
+ * spot scores the same whichever segment it landed in and rankings do not shift when segments
+ * merge or the index reloads. Scores accumulate in a flat array when a query touches a large
+ * share of the catalog.
+ */
+@Component
+public class SpotSearchIndex {
+
+    static final float NAME_WEIGHT = 3f;
+    static final float TYPE_WEIGHT = 2f;
+    static final float TEXT_WEIGHT = 1f;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    // Completions of the last token score below the exact word and need a couple of characters
+    private static final float PREFIX_DISCOUNT = 0.8f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final StudySpotRepository studySpotRepository;
+
+    private volatile Segment[] segments = new Segment[0];
+    // Ids read by the last load, ascending; guarded by this
+    private long[] loadedIds = new long[0];
+
+    public SpotSearchIndex(StudySpotRepository studySpotRepository) {
+        this.studySpotRepository = studySpotRepository;
+    }
+
+    /**
+     * Reads every spot and swaps in a single segment. Adds wait meanwhile, so a spot committed
+     * during the load is added on top of it rather than lost (or skipped, if the load already read it).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        List<Document> docs = new ArrayList<>();
+        for (SpotSearchRow row : studySpotRepository.findAllSearchRows()) {
+            docs.add(Document.of(row.getId(), row.getName(), row.getType(), row.getDescription(), row.getNote()));
+        }
+        segments = docs.isEmpty() ? new Segment[0] : new Segment[] { Segment.build(docs) };
+        loadedIds = docs.stream().mapToLong(d -> d.spotId).sorted().toArray();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotCreated(SpotCreatedEvent event) {
+        put(List.of(event.getSpot()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotsImported(SpotsImportedEvent event) {
+        put(event.getSpots());
+    }
+
+    public void put(List<StudySpot> spots) {
+        List<Document> docs = new ArrayList<>(spots.size());
+        for (StudySpot s : spots) {
+            docs.add(Document.of(s.getId(), s.getName(), s.getType(), s.getDescription(), s.getNote()));
+        }
+        add(docs);
+    }
+
+    public void put(long spotId, String name, String type, String description, String note) {
+        add(List.of(Document.of(spotId, name, type, description, note)));
+    }
+
+    public int size() {
+        int n = 0;
+        for (Segment segment : segments) n += segment.ids.length;
+        return n;
+    }
+
+    /**
+     * The best {@code limit} spots for {@code query}, highest score first (ties by id). Any token
+     * may match; spots matching more and rarer tokens rank higher.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        Segment[] segs = segments;
+        if (tokens.isEmpty() || segs.length == 0 || limit <= 0) return List.of();
+
+        int[] bases = new int[segs.length];
+        int docCount = 0;
+        double totalLength = 0;
+        for (int i = 0; i < segs.length; i++) {
+            bases[i] = docCount;
+            docCount += segs[i].ids.length;
+            totalLength += segs[i].totalLength;
+        }
+        Norms norms = new Norms((float) Math.max(totalLength / docCount, 1e-6));
+
+        List<List<Term>> matched = new ArrayList<>(tokens.size());
+        long postings = 0;
+        for (int t = 0; t < tokens.size(); t++) {
+            String token = tokens.get(t);
+            boolean prefix = t == tokens.size() - 1 && token.length() >= MIN_PREFIX_LENGTH;
+            List<Term> terms = new ArrayList<>();
+            for (String term : expand(segs, token, prefix)) {
+                Term resolved = Term.resolve(segs, term, term.equals(token) ? 1f : PREFIX_DISCOUNT, docCount);
+                if (resolved != null) {
+                    terms.add(resolved);
+                    postings += resolved.df;
+                }
+            }
+            matched.add(terms);
+        }
+        if (postings == 0) return List.of();
+
+        // Broad queries touch a large share of the catalog: a flat array beats hashing there
+        boolean dense = postings * 8 > docCount;
+        Scores scores = dense ? new DenseScores(docCount) : new SparseScores(postings);
+        for (List<Term> terms : matched) {
+            if (terms.size() == 1) {
+                terms.get(0).addTo(segs, bases, norms, scores, false);
+            } else if (terms.size() > 1) {
+                // Expansions of one token compete: a spot scores its best-matching expansion once
+                Scores best = dense ? new DenseScores(docCount) : new SparseScores(postings);
+                for (Term term : terms) term.addTo(segs, bases, norms, best, true);
+                best.forEach(scores::add);
+            }
+        }
+
+        TopHits top = new TopHits(limit);
+        scores.forEach((ordinal, score) -> {
+            if (top.rejects(score)) return;
+            // Bases strictly increase because segments are never empty
+            int seg = Arrays.binarySearch(bases, ordinal);
+            if (seg < 0) seg = -seg - 2;
+            top.offer(segs[seg].ids[ordinal - bases[seg]], score);
+        });
+        return top.toList();
+    }
+
+    private synchronized void add(List<Document> docs) {
+        long[] loaded = loadedIds;
+        docs = docs.stream().filter(d -> Arrays.binarySearch(loaded, d.spotId) < 0).collect(Collectors.toList());
+        if (docs.isEmpty()) return;
+        List<Segment> next = new ArrayList<>(Arrays.asList(segments));
+        next.add(Segment.build(docs));
+        int n = next.size();
+        while (n >= 2 && next.get(n - 2).ids.length <= next.get(n - 1).ids.length) {
+            Segment merged = Segment.merge(next.get(n - 2), next.get(n - 1));
+            next.remove(n - 1);
+            next.set(n - 2, merged);
+            n--;
+        }
+        segments = next.toArray(new Segment[0]);
+    }
+
+    // The token itself plus, for a prefix token, dictionary terms starting with it
+    private static Set<String> expand(Segment[] segs, String token, boolean prefix) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.add(token);
+        if (!prefix) return terms;
+        for (Segment segment : segs) {
+            int i = lowerBound(segment.terms, token);
+            while (i < segment.terms.length && segment.terms[i].startsWith(token)
+                    && terms.size() < MAX_PREFIX_EXPANSIONS) {
+                terms.add(segment.terms[i++]);
+            }
+        }
+        return terms;
+    }
+
+    private static int lowerBound(String[] a, String key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // One spot's weighted term frequencies
+    private static final class Document {
+        final long spotId;
+        final Map<String, Float> tf;
+        final float length;
+
+        private Document(long spotId, Map<String, Float> tf, float length) {
+            this.spotId = spotId;
+            this.tf = tf;
+            this.length = length;
+        }
+
+        static Document of(long spotId, String name, String type, String description, String note) {
+            Map<String, Float> tf = new HashMap<>();
+            float length = addField(tf, name, NAME_WEIGHT)
+                    + addField(tf, type, TYPE_WEIGHT)
+                    + addField(tf, description, TEXT_WEIGHT)
+                    + addField(tf, note, TEXT_WEIGHT);
+            return new Document(spotId, tf, length);
+        }
+
+        private static float addField(Map<String, Float> tf, String text, float weight) {
+            List<String> tokens = TextNormalizer.tokenize(text);
+            for (String token : tokens) tf.merge(token, weight, Float::sum);
+            return tokens.size() * weight;
+        }
+    }
+
+    private static final class Segment {
+        final long[] ids;
+        final float[] lengths;
+        final String[] terms;   // sorted
+        final int[][] docs;     // per term: ascending local doc ordinals
+        final float[][] tfs;    // per term: weighted frequency, parallel to docs
+        final double totalLength;
+
+        private Segment(long[] ids, float[] lengths, String[] terms, int[][] docs, float[][] tfs) {
+            this.ids = ids;
+            this.lengths = lengths;
+            this.terms = terms;
+            this.docs = docs;
+            this.tfs = tfs;
+            double total = 0;
+            for (float length : lengths) total += length;
+            this.totalLength = total;
+        }
+
+        static Segment build(List<Document> documents) {
+            long[] ids = new long[documents.size()];
+            float[] lengths = new float[documents.size()];
+            TreeMap<String, List<int[]>> postings = new TreeMap<>();
+            for (int d = 0; d < documents.size(); d++) {
+                Document doc = documents.get(d);
+                ids[d] = doc.spotId;
+                lengths[d] = doc.length;
+                int ordinal = d;
+                doc.tf.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new ArrayList<>())
+                        .add(new int[] { ordinal, Float.floatToRawIntBits(tf) }));
+            }
+            String[] terms = postings.keySet().toArray(new String[0]);
+            int[][] docs = new int[terms.length][];
+            float[][] tfs = new float[terms.length][];
+            int t = 0;
+            for (List<int[]> list : postings.values()) {
+                docs[t] = new int[list.size()];
+                tfs[t] = new float[list.size()];
+                for (int p = 0; p < list.size(); p++) {
+                    docs[t][p] = list.get(p)[0];
+                    tfs[t][p] = Float.intBitsToFloat(list.get(p)[1]);
+                }
+                t++;
+            }
+            return new Segment(ids, lengths, terms, docs, tfs);
+        }
+
+        // b's documents follow a's; postings of shared terms are concatenated
+        static Segment merge(Segment a, Segment b) {
+            int offset = a.ids.length;
+            long[] ids = Arrays.copyOf(a.ids, offset + b.ids.length);
+            System.arraycopy(b.ids, 0, ids, offset, b.ids.length);
+            float[] lengths = Arrays.copyOf(a.lengths, offset + b.lengths.length);
+            System.arraycopy(b.lengths, 0, lengths, offset, b.lengths.length);
+
+            List<String> terms = new ArrayList<>(a.terms.length + b.terms.length);
+            List<int[]> docs = new ArrayList<>(a.terms.length + b.terms.length);
+            List<float[]> tfs = new ArrayList<>(a.terms.length + b.terms.length);
+            int i = 0;
+            int j = 0;
+            while (i < a.terms.length || j < b.terms.length) {
+                int cmp = i == a.terms.length ? 1 : j == b.terms.length ? -1 : a.terms[i].compareTo(b.terms[j]);
+                if (cmp < 0) {
+                    terms.add(a.terms[i]);
+                    docs.add(a.docs[i]);
+                    tfs.add(a.tfs[i]);
+                    i++;
+                } else if (cmp > 0) {
+                    terms.add(b.terms[j]);
+                    docs.add(shift(b.docs[j], offset));
+                    tfs.add(b.tfs[j]);
+                    j++;
+                } else {
+                    int[] shifted = shift(b.docs[j], offset);
+                    int[] d = Arrays.copyOf(a.docs[i], a.docs[i].length + shifted.length);
+                    System.arraycopy(shifted, 0, d, a.docs[i].length, shifted.length);
+                    float[] f = Arrays.copyOf(a.tfs[i], a.tfs[i].length + b.tfs[j].length);
+                    System.arraycopy(b.tfs[j], 0, f, a.tfs[i].length, b.tfs[j].length);
+                    terms.add(a.terms[i]);
+                    docs.add(d);
+                    tfs.add(f);
+                    i++;
+                    j++;
+                }
+            }
+            return new Segment(ids, lengths, terms.toArray(new String[0]),
+                    docs.toArray(new int[0][]), tfs.toArray(new float[0][]));
+        }
+
+        private static int[] shift(int[] docs, int offset) {
+            int[] out = new int[docs.length];
+            for (int k = 0; k < docs.length; k++) out[k] = docs[k] + offset;
+            return out;
+        }
+    }
+
+    // A query term located in each segment, with its idf (scaled by the prefix discount)
+    private static final class Term {
+        final int[] slots;  // per segment: index into the dictionary, or negative when absent
+        final int df;
+        final float idf;
+
+        private Term(int[] slots, int df, float idf) {
+            this.slots = slots;
+            this.df = df;
+            this.idf = idf;
+        }
+
+        static Term resolve(Segment[] segs, String term, float weight, int docCount) {
+            int[] slots = new int[segs.length];
+            int df = 0;
+            for (int i = 0; i < segs.length; i++) {
+                slots[i] = Arrays.binarySearch(segs[i].terms, term);
+                if (slots[i] >= 0) df += segs[i].docs[slots[i]].length;
+            }
+            if (df == 0) return null;
+            float idf = (float) Math.log(1 + (docCount - df + 0.5) / (df + 0.5)) * weight;
+            return new Term(slots, df, idf);
+        }
+
+        void addTo(Segment[] segs, int[] bases, Norms norms, Scores out, boolean keepMax) {
+            for (int i = 0; i < segs.length; i++) {
+                if (slots[i] < 0) continue;
+                int[] docs = segs[i].docs[slots[i]];
+                float[] tfs = segs[i].tfs[slots[i]];
+                float[] lengths = segs[i].lengths;
+                int base = bases[i];
+                for (int p = 0; p < docs.length; p++) {
+                    float score = idf * norms.impact(tfs[p], lengths[docs[p]]);
+                    if (keepMax) out.max(base + docs[p], score);
+                    else out.add(base + docs[p], score);
+                }
+            }
+        }
+    }
+
+    // BM25 term-frequency component against the average length of the whole index
+    private static final class Norms {
+        private final float constant;
+        private final float perLength;
+
+        Norms(float avgLength) {
+            this.constant = K1 * (1 - B);
+            this.perLength = K1 * B / avgLength;
+        }
+
+        float impact(float tf, float length) {
+            return tf * (K1 + 1) / (tf + constant + perLength * length);
+        }
+    }
+
+    // Scores by global doc ordinal; every stored score is positive
+    private interface Scores {
+        void add(int ordinal, float score);
+
+        void max(int ordinal, float score);
+
+        void forEach(OrdinalScoreConsumer consumer);
+    }
+
+    private static final class DenseScores implements Scores {
+        private final float[] values;
+
+        DenseScores(int docCount) {
+            values = new float[docCount];
+        }
+
+        @Override
+        public void add(int ordinal, float score) {
+            values[ordinal] += score;
+        }
+
+        @Override
+        public void max(int ordinal, float score) {
+            if (score > values[ordinal]) values[ordinal] = score;
+        }
+
+        @Override
+        public void forEach(OrdinalScoreConsumer consumer) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] > 0) consumer.accept(i, values[i]);
+            }
+        }
+    }
+
+    // Open-addressing map, sized up front for the postings the query will touch
+    private static final class SparseScores implements Scores {
+        private final int[] keys;     // ordinal + 1; 0 marks an empty slot
+        private final float[] values;
+        private final int mask;
+
+        SparseScores(long postings) {
+            int capacity = Integer.highestOneBit((int) Math.max(16, postings * 2 - 1)) << 1;
+            keys = new int[capacity];
+            values = new float[capacity];
+            mask = capacity - 1;
+        }
+
+        @Override
+        public void add(int ordinal, float score) {
+            values[slot(ordinal)] += score;
+        }
+
+        @Override
+        public void max(int ordinal, float score) {
+            int slot = slot(ordinal);
+            if (score > values[slot]) values[slot] = score;
+        }
+
+        @Override
+        public void forEach(OrdinalScoreConsumer consumer) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) consumer.accept(keys[i] - 1, values[i]);
+            }
+        }
+
+        private int slot(int ordinal) {
+            int key = ordinal + 1;
+            int i = (key * 0x9E3779B9) >>> 7 & mask;
+            while (keys[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            keys[i] = key;
+            return i;
+        }
+    }
+
+    // Bounded min-heap on (score, then higher id = worse) over primitive arrays
+    private static final class TopHits {
+        private final int limit;
+        private final float[] scores;
+        private final long[] ids;
+        private int size;
+
+        TopHits(int limit) {
+            this.limit = limit;
+            this.scores = new float[limit];
+            this.ids = new long[limit];
+        }
+
+        boolean rejects(float score) {
+            return size == limit && score < scores[0];
+        }
+
+        void offer(long id, float score) {
+            if (size < limit) {
+                scores[size] = score;
+                ids[size] = id;
+                siftUp(size++);
+            } else if (worse(scores[0], ids[0], score, id)) {
+                scores[0] = score;
+                ids[0] = id;
+                siftDown(0);
+            }
+        }
+
+        List<SearchHit> toList() {
+            List<SearchHit> hits = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) hits.add(new SearchHit(ids[i], scores[i]));
+            hits.sort((a, b) -> a.getScore() != b.getScore()
+                    ? Double.compare(b.getScore(), a.getScore())
+                    : Long.compare(a.getSpotId(), b.getSpotId()));
+            return hits;
+        }
+
+        private static boolean worse(float s1, long id1, float s2, long id2) {
+            return s1 < s2 || (s1 == s2 && id1 > id2);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!worse(scores[i], ids[i], scores[parent], ids[parent])) return;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                int right = left + 1;
+                int worst = i;
+                if (left < size && worse(scores[left], ids[left], scores[worst], ids[worst])) worst = left;
+                if (right < size && worse(scores[right], ids[right], scores[worst], ids[worst])) worst = right;
+                if (worst == i) return;
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            float s = scores[a];
+            scores[a] = scores[b];
+            scores[b] = s;
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+
+    @FunctionalInterface
+    private interface OrdinalScoreConsumer {
+        void accept(int ordinal, float score);
+    }
+}
@@ -0,0 +1,21 @@
+package com.studyspotfinder.index;
+
+/**
+ * An autocomplete suggestion: just enough to render the dropdown and open the spot.
+ */
+public class SpotSuggestion {
+
+    private final long id;
+    private final String name;
+    private final String type;
+
+    public SpotSuggestion(long id, String name, String type) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+    }
+
+    public long getId() { return id; }
+    public String getName() { return name; }
+    public String getType() { return type; }
+}
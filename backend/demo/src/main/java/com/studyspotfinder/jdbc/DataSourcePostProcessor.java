@@ -0,0 +1,53 @@
+package com.studyspotfinder.jdbc;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Wraps the Hikari pool on its way into the context:
+ * <ul>
+ * <li>in a {@link ConnectionLimitingDataSource} when {@code db.connection-permits.enabled} is
+ * set, which defaults to on whenever virtual threads are ({@code spring.threads.virtual.enabled}).
+ * Permits default to the pool size and the wait to the pool's connection timeout;</li>
+ * <li>then in a {@link JdbcMetricsDataSource} unless {@code db.metrics.enabled=false}.</li>
+ * </ul>
+ */
+@Component
+public class DataSourcePostProcessor implements BeanPostProcessor {
+
+    private final Environment environment;
+    private final ObjectProvider<JdbcStatementRecorder> recorder;
+
+    public DataSourcePostProcessor(Environment environment, ObjectProvider<JdbcStatementRecorder> recorder) {
+        this.environment = environment;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource hikari)) return bean;
+        DataSource dataSource = hikari;
+        if (permitsEnabled()) {
+            int permits = environment.getProperty("db.connection-permits.max", Integer.class,
+                    hikari.getMaximumPoolSize());
+            long timeout = environment.getProperty("db.connection-permits.acquire-timeout-ms", Long.class,
+                    hikari.getConnectionTimeout());
+            dataSource = new ConnectionLimitingDataSource(dataSource, permits, timeout);
+        }
+        if (environment.getProperty("db.metrics.enabled", Boolean.class, true)) {
+            dataSource = new JdbcMetricsDataSource(dataSource, recorder::getObject);
+        }
+        return dataSource;
+    }
+
+    private boolean permitsEnabled() {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        return environment.getProperty("db.connection-permits.enabled", Boolean.class, virtualThreads);
+    }
+}
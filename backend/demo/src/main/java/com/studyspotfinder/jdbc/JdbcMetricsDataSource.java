@@ -0,0 +1,105 @@
+package com.studyspotfinder.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times every statement execution on connections from the target DataSource and reports it,
+ * with its SQL, to a {@link JdbcStatementRecorder}. Covers JPA and JdbcTemplate alike.
+ * The recorder is looked up on first use so wrapping the pool does not pull the metrics
+ * registry into early bean creation.
+ */
+public class JdbcMetricsDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Supplier<JdbcStatementRecorder> recorderLookup;
+    private volatile JdbcStatementRecorder recorder;
+
+    public JdbcMetricsDataSource(DataSource target, Supplier<JdbcStatementRecorder> recorderLookup) {
+        super(target);
+        this.recorderLookup = recorderLookup;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    // Lets the context close the wrapped pool on shutdown
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) closeable.close();
+    }
+
+    private JdbcStatementRecorder recorder() {
+        JdbcStatementRecorder current = recorder;
+        if (current == null) {
+            current = recorderLookup.get();
+            recorder = current;
+        }
+        return current;
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            String name = method.getName();
+            if (result instanceof CallableStatement call && name.equals("prepareCall")) {
+                return wrapStatement(CallableStatement.class, call, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement prepared && name.equals("prepareStatement")) {
+                return wrapStatement(PreparedStatement.class, prepared, (String) args[0]);
+            }
+            if (result instanceof Statement statement && name.equals("createStatement")) {
+                return wrapStatement(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private <S extends Statement> S wrapStatement(Class<S> type, S statement, String preparedSql) {
+        return proxy(type, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String s ? s : "?";
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invoke(statement, method, args);
+                failed = false;
+                return result;
+            } finally {
+                recorder().record(sql, System.nanoTime() - start, failed);
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.studyspotfinder.jdbc;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.studyspotfinder.metrics.JdbcRequestStats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Receives every statement execution from {@link JdbcMetricsDataSource}: feeds the
+ * {@code jdbc.statements} timer and the per-request totals, and logs a sample of statements
+ * slower than the threshold. Replaces printing every statement to stdout.
+ */
+@Component
+public class JdbcStatementRecorder {
+
+    private static final Logger slowLog = LoggerFactory.getLogger("com.studyspotfinder.jdbc.SlowQuery");
+
+    private final Timer statements;
+    private final Timer failures;
+    private final Counter slowStatements;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+
+    public JdbcStatementRecorder(MeterRegistry registry,
+                                 @Value("${db.slow-query.threshold-ms:250}") long slowThresholdMillis,
+                                 @Value("${db.slow-query.sample-rate:0.1}") double sampleRate) {
+        this.statements = Timer.builder("jdbc.statements")
+                .description("JDBC statement execution time")
+                .tag("outcome", "success")
+                .register(registry);
+        this.failures = Timer.builder("jdbc.statements")
+                .description("JDBC statement execution time")
+                .tag("outcome", "error")
+                .register(registry);
+        this.slowStatements = Counter.builder("jdbc.statements.slow")
+                .description("Statements slower than db.slow-query.threshold-ms")
+                .register(registry);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.sampleRate = sampleRate;
+    }
+
+    public void record(String sql, long elapsedNanos, boolean failed) {
+        (failed ? failures : statements).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        JdbcRequestStats.record(elapsedNanos);
+        if (elapsedNanos >= slowThresholdNanos) {
+            slowStatements.increment();
+            // Every slow statement is counted; only a sample is logged so a slow database cannot flood the log
+            if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                slowLog.warn("Slow statement ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql);
+            }
+        }
+    }
+}
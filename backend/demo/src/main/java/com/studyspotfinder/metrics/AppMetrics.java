@@ -0,0 +1,125 @@
+package com.studyspotfinder.metrics;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Component;
+
+import com.studyspotfinder.cache.SpotResponseCache;
+import com.studyspotfinder.cache.UserFavoritesCache;
+import com.studyspotfinder.cache.UserIdentityCache;
+import com.studyspotfinder.index.SpotCatalog;
+import com.studyspotfinder.jdbc.ConnectionLimitingDataSource;
+import com.studyspotfinder.security.JwtService;
+import com.studyspotfinder.security.PasswordHasher;
+import com.studyspotfinder.service.FavoriteWriteBehind;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Application meters not covered by Boot's auto-configuration: Caffeine hit rates
+ * ({@code cache.gets} etc., tagged by cache), the spot catalog size, the favorite write-behind
+ * queue, JWT signature checks, the BCrypt pool and, when enabled, the connection permits. Hikari pool metrics ({@code hikaricp.*}) and request latency
+ * ({@code http.server.requests}) come from Boot.
+ */
+@Component
+public class AppMetrics implements MeterBinder {
+
+    private final SpotResponseCache spotResponseCache;
+    private final UserIdentityCache userIdentityCache;
+    private final UserFavoritesCache userFavoritesCache;
+    private final SpotCatalog spotCatalog;
+    private final FavoriteWriteBehind favoriteWriteBehind;
+    private final JwtService jwtService;
+    private final PasswordHasher passwordHasher;
+    private final DataSource dataSource;
+
+    public AppMetrics(SpotResponseCache spotResponseCache,
+                      UserIdentityCache userIdentityCache,
+                      UserFavoritesCache userFavoritesCache,
+                      SpotCatalog spotCatalog,
+                      FavoriteWriteBehind favoriteWriteBehind,
+                      JwtService jwtService,
+                      PasswordHasher passwordHasher,
+                      DataSource dataSource) {
+        this.spotResponseCache = spotResponseCache;
+        this.userIdentityCache = userIdentityCache;
+        this.userFavoritesCache = userFavoritesCache;
+        this.spotCatalog = spotCatalog;
+        this.favoriteWriteBehind = favoriteWriteBehind;
+        this.jwtService = jwtService;
+        this.passwordHasher = passwordHasher;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, spotResponseCache.nativeCache(), "spots.detail");
+        CaffeineCacheMetrics.monitor(registry, userIdentityCache.nativeCache(), "users.identity");
+        CaffeineCacheMetrics.monitor(registry, jwtService.verifiedCache(), "jwt.verified");
+        CaffeineCacheMetrics.monitor(registry, userFavoritesCache.nativeCache(), "favorites.sets");
+
+        Gauge.builder("spots.catalog.size", spotCatalog, SpotCatalog::size)
+                .description("Spots in the in-memory catalog snapshot (0 when it is disabled)")
+                .register(registry);
+
+        Gauge.builder("favorites.write-behind.pending", favoriteWriteBehind, FavoriteWriteBehind::pendingCount)
+                .description("Favorite flags not yet written to the database")
+                .register(registry);
+        FunctionCounter.builder("favorites.write-behind.written", favoriteWriteBehind, FavoriteWriteBehind::writtenCount)
+                .description("Favorite rows inserted or deleted by write-behind flushes")
+                .register(registry);
+
+        FunctionTimer.builder("jwt.verify", jwtService, JwtService::parseCount,
+                        JwtService::totalParseNanos, TimeUnit.NANOSECONDS)
+                .description("JWT signature checks (verified-cache misses)")
+                .register(registry);
+
+        FunctionTimer.builder("bcrypt.hash", passwordHasher, PasswordHasher::hashCount,
+                        PasswordHasher::totalHashNanos, TimeUnit.NANOSECONDS)
+                .description("BCrypt encode and match operations")
+                .register(registry);
+        Gauge.builder("bcrypt.hash.max", passwordHasher, h -> h.maxHashNanos() / 1e6)
+                .description("Slowest BCrypt operation since startup")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("bcrypt.queue.wait", passwordHasher, h -> h.totalQueueWaitNanos() / 1e6)
+                .description("Total time BCrypt work spent queued")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("bcrypt.queue.depth", passwordHasher, PasswordHasher::queueDepth)
+                .register(registry);
+        Gauge.builder("bcrypt.active", passwordHasher, PasswordHasher::activeCount)
+                .register(registry);
+        FunctionCounter.builder("bcrypt.rejected", passwordHasher, PasswordHasher::rejectedCount)
+                .description("Hashing requests refused with 503 because the queue was full")
+                .register(registry);
+
+        ConnectionLimitingDataSource permits = connectionPermits();
+        if (permits != null) {
+            Gauge.builder("db.connection.permits.available", permits, ConnectionLimitingDataSource::availablePermits)
+                    .register(registry);
+            Gauge.builder("db.connection.permits.max", permits, ConnectionLimitingDataSource::maxPermits)
+                    .register(registry);
+            Gauge.builder("db.connection.permits.waiting", permits, ConnectionLimitingDataSource::queueLength)
+                    .register(registry);
+        }
+    }
+
+    private ConnectionLimitingDataSource connectionPermits() {
+        try {
+            return dataSource.isWrapperFor(ConnectionLimitingDataSource.class)
+                    ? dataSource.unwrap(ConnectionLimitingDataSource.class)
+                    : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
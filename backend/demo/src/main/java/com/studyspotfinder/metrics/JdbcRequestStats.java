@@ -0,0 +1,38 @@
+package com.studyspotfinder.metrics;
+
+/**
+ * JDBC statements executed on the current thread since {@link #begin()}, with their total
+ * execution time. The request filter brackets each request; the instrumented DataSource adds
+ * to it. Work handed to other threads is not attributed to the request.
+ */
+public final class JdbcRequestStats {
+
+    private static final ThreadLocal<JdbcRequestStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long nanos;
+
+    private JdbcRequestStats() {}
+
+    public static void begin() {
+        CURRENT.set(new JdbcRequestStats());
+    }
+
+    /** Stops collecting on this thread and returns what was collected, or null if nothing was started. */
+    public static JdbcRequestStats end() {
+        JdbcRequestStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    public static void record(long elapsedNanos) {
+        JdbcRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+
+    public long getStatements() { return statements; }
+    public long getNanos() { return nanos; }
+}
@@ -0,0 +1,66 @@
+package com.studyspotfinder.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many JDBC statements each request ran ({@code http.server.requests.jdbc.statements})
+ * and how long they took in total ({@code http.server.requests.jdbc.time}), tagged like
+ * {@code http.server.requests} with the method and the matched route pattern, so N+1 regressions
+ * show up per endpoint.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestJdbcMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    public RequestJdbcMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        JdbcRequestStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            JdbcRequestStats stats = JdbcRequestStats.end();
+            if (stats != null) record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, JdbcRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Unmatched paths share one tag so stray URLs cannot blow up the number of meters
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .description("JDBC statements executed per request")
+                .baseUnit("statements")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.jdbc.time")
+                .description("Total JDBC statement time per request")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,87 @@
+package com.studyspotfinder.model;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Renders a spot's hours for display. Runs when hours are compiled (on save / backfill),
+ * never on the read path: responses serve the stored results.
+ */
+public final class HoursFormatter {
+
+    private static final String[] DAY_NAMES = {
+            "sunday", "monday", "tuesday", "wednesday", "thursday", "friday", "saturday"
+    };
+
+    private HoursFormatter() {}
+
+    // Single string: "monday: 9am-5pm, tuesday: 9am-1pm, 2pm-6pm"
+    public static String format(List<StudySpotHours> hours) {
+        if (hours == null || hours.isEmpty()) return "";
+
+        StringBuilder[] ranges = rangesByDay(hours);
+        StringBuilder sb = new StringBuilder();
+        for (int dow = 0; dow <= 6; dow++) {
+            if (ranges[dow] == null) continue;
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(DAY_NAMES[dow]).append(": ").append(ranges[dow]);
+        }
+        return sb.toString();
+    }
+
+    // Per-day JSON object: {"sunday":[],"monday":["9am-5pm"],...}; every day is present
+    public static String formatJson(List<StudySpotHours> hours) {
+        StringBuilder[] perDay = new StringBuilder[7];
+        if (hours != null) {
+            for (StudySpotHours h : hours) {
+                int dow = h.getDayOfWeek();
+                if (perDay[dow] == null) perDay[dow] = new StringBuilder();
+                else perDay[dow].append(',');
+                perDay[dow].append('"');
+                appendRange(perDay[dow], h);
+                perDay[dow].append('"');
+            }
+        }
+
+        StringBuilder sb = new StringBuilder("{");
+        for (int dow = 0; dow <= 6; dow++) {
+            if (dow > 0) sb.append(',');
+            sb.append('"').append(DAY_NAMES[dow]).append("\":[");
+            if (perDay[dow] != null) sb.append(perDay[dow]);
+            sb.append(']');
+        }
+        return sb.append('}').toString();
+    }
+
+    // One pass over the rows, keeping each day's ranges in row order
+    private static StringBuilder[] rangesByDay(List<StudySpotHours> hours) {
+        StringBuilder[] ranges = new StringBuilder[7];
+        for (StudySpotHours h : hours) {
+            int dow = h.getDayOfWeek();
+            if (ranges[dow] == null) ranges[dow] = new StringBuilder();
+            else ranges[dow].append(", ");
+            appendRange(ranges[dow], h);
+        }
+        return ranges;
+    }
+
+    private static void appendRange(StringBuilder sb, StudySpotHours h) {
+        appendAmPm(sb, h.getOpenTime());
+        sb.append('-');
+        appendAmPm(sb, h.getCloseTime());
+    }
+
+    // 24h -> 12h am/pm, e.g. 9am, 12:30pm
+    private static void appendAmPm(StringBuilder sb, LocalTime t) {
+        int hour = t.getHour();
+        int minute = t.getMinute();
+        int hr12 = hour % 12;
+        sb.append(hr12 == 0 ? 12 : hr12);
+        if (minute != 0) {
+            sb.append(':');
+            if (minute < 10) sb.append('0');
+            sb.append(minute);
+        }
+        sb.append(hour >= 12 ? "pm" : "am");
+    }
+}
@@ -8,7 +8,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // Keyset pagination of a spot's reviews, newest first
+        @Index(name = "idx_reviews_spot_timestamp", columnList = "spot_id, timestamp, review_id")
+})
 public class Review {
 
     @Id
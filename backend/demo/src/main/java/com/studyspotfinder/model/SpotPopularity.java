@@ -0,0 +1,47 @@
+package com.studyspotfinder.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Persisted popularity counters for one spot: all-time favorites, reviews and detail views, and
+ * the time-decayed trending score as of {@code trendingAt}. Written in batches from the
+ * in-memory counters, which are the source of truth while the app runs.
+ */
+@Entity
+@Table(name = "spot_popularity")
+public class SpotPopularity {
+
+    @Id
+    @Column(name = "spot_id")
+    private Long spotId;
+
+    @Column(name = "favorite_count", nullable = false)
+    private long favoriteCount;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    @Column(name = "trending_score", nullable = false)
+    private double trendingScore;
+
+    // Epoch milliseconds the trending score was last decayed to
+    @Column(name = "trending_at", nullable = false)
+    private long trendingAt;
+
+    public SpotPopularity() {}
+
+    public Long getSpotId() { return spotId; }
+
+    public long getFavoriteCount() { return favoriteCount; }
+
+    public long getReviewCount() { return reviewCount; }
+
+    public long getViewCount() { return viewCount; }
+
+    public double getTrendingScore() { return trendingScore; }
+
+    public long getTrendingAt() { return trendingAt; }
+}
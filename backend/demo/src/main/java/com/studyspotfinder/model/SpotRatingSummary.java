@@ -0,0 +1,85 @@
+package com.studyspotfinder.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Denormalized rating aggregate for one spot, kept in step with the reviews table
+ * so reads do not need to run avg()/count() over every review.
+ */
+@Entity
+@Table(name = "spot_rating_summaries", indexes = {
+        // Rating filters and the rating sort of GET /api/spots
+        @Index(name = "idx_rating_summaries_average", columnList = "average_rating, spot_id")
+})
+public class SpotRatingSummary {
+
+    @Id
+    @Column(name = "spot_id")
+    private Long spotId;
+
+    @Column(name = "review_count", nullable = false)
+    private int reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    // rating_sum / review_count, stored so it can be indexed; null without reviews
+    @Column(name = "average_rating")
+    private Double averageRating;
+
+    // Per-star histogram (number of 1..5 star reviews)
+    @Column(name = "stars_1", nullable = false)
+    private int stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private int stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private int stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private int stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private int stars5;
+
+    public SpotRatingSummary() {}
+
+    public SpotRatingSummary(Long spotId) {
+        this.spotId = spotId;
+    }
+
+    public Long getSpotId() { return spotId; }
+
+    public int getReviewCount() { return reviewCount; }
+
+    public long getRatingSum() { return ratingSum; }
+
+    /**
+     * Sets the histogram and derives count/sum from it. counts[0] is the number of 1-star reviews.
+     */
+    public void setHistogram(int[] counts) {
+        stars1 = counts[0];
+        stars2 = counts[1];
+        stars3 = counts[2];
+        stars4 = counts[3];
+        stars5 = counts[4];
+        reviewCount = 0;
+        ratingSum = 0;
+        for (int i = 0; i < 5; i++) {
+            reviewCount += counts[i];
+            ratingSum += (long) counts[i] * (i + 1);
+        }
+        averageRating = reviewCount == 0 ? null : (double) ratingSum / reviewCount;
+    }
+
+    @Transient
+    public int[] getHistogram() {
+        return new int[] { stars1, stars2, stars3, stars4, stars5 };
+    }
+
+    // Null when the spot has no reviews yet
+    public Double getAverageRating() {
+        return reviewCount == 0 ? null : (double) ratingSum / reviewCount;
+    }
+}
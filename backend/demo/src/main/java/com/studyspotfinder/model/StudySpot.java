@@ -2,14 +2,13 @@ package com.studyspotfinder.model;
 
 import jakarta.persistence.*;
 
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneId;
 import java.util.List;
-import java.util.Map;
 
 @Entity
-@Table(name = "study_spots")
+@Table(name = "study_spots", indexes = {
+        // Type filter of GET /api/spots
+        @Index(name = "idx_study_spots_type", columnList = "type")
+})
 public class StudySpot {
 
     @Id
@@ -48,6 +47,18 @@ public class StudySpot {
     @OneToMany(mappedBy = "studySpot", cascade = CascadeType.ALL, orphanRemoval = true)
     private java.util.List<StudySpotHours> hours;
 
+    // Hours compiled into minute-of-week intervals; refreshed by compileHours() whenever hours change
+    @Convert(converter = WeeklyScheduleConverter.class)
+    @Column(name = "open_schedule", length = WeeklySchedule.MAX_ENCODED_LENGTH)
+    private WeeklySchedule openSchedule;
+
+    // Display forms of the hours, rendered once by compileHours() instead of on every response
+    @Column(name = "hours_formatted", columnDefinition = "TEXT")
+    private String hoursFormatted;
+
+    @Column(name = "hours_json", columnDefinition = "TEXT")
+    private String hoursJson;
+
     public StudySpot() {}
 
     public StudySpot(String name, String address, String description) {
@@ -89,34 +100,47 @@ public class StudySpot {
 
     // ---- Business helpers ----/ge
 
-    public boolean isOpenNow() {
-        ZoneId zoneId = ZoneId.of("America/Los_Angeles");
-        LocalDateTime localNow = LocalDateTime.now(zoneId);
-        LocalTime timeNow = localNow.toLocalTime();
-        int today = localNow.getDayOfWeek().getValue() % 7; // Monday=1..Sunday=7 → 0..6
+    /**
+     * Recompiles everything derived from hours (schedule and display strings).
+     * Call after editing hours, before saving; this is the cache invalidation point. Throws
+     * IllegalArgumentException for a day outside 0..6 or a schedule too fragmented for its column.
+     */
+    public void compileHours() {
+        if (hours != null) {
+            for (StudySpotHours h : hours) {
+                if (h.getDayOfWeek() < 0 || h.getDayOfWeek() > 6) {
+                    throw new IllegalArgumentException("dayOfWeek must be between 0 (Sunday) and 6 (Saturday)");
+                }
+            }
+        }
+        WeeklySchedule schedule = WeeklySchedule.compile(hours);
+        if (schedule.encode().length() > WeeklySchedule.MAX_ENCODED_LENGTH) {
+            throw new IllegalArgumentException("hours have too many separate openings to store");
+        }
+        this.openSchedule = schedule;
+        this.hoursFormatted = HoursFormatter.format(hours);
+        this.hoursJson = HoursFormatter.formatJson(hours);
+    }
 
-        if (hours == null || hours.isEmpty()) return false;
+    // Safety net so no row is ever inserted without its compiled hours
+    @PrePersist
+    void compileHoursIfMissing() {
+        if (openSchedule == null || hoursFormatted == null || hoursJson == null) compileHours();
+    }
 
-        for (StudySpotHours h : hours) {
-            int dow = h.getDayOfWeek();
-            LocalTime open = h.getOpenTime();
-            LocalTime close = h.getCloseTime();
+    // Falls back to compiling on the fly for rows saved before the schedule column existed
+    public WeeklySchedule getOpenSchedule() {
+        if (openSchedule == null) compileHours();
+        return openSchedule;
+    }
 
-            // Normal same-day hours, e.g., 09:00–17:00
-            if (dow == today && !timeNow.isBefore(open) && timeNow.isBefore(close)) {
-                return true;
-            }
+    public boolean isOpenNow() {
+        return isOpenAt(WeeklySchedule.currentMinuteOfWeek());
+    }
 
-            // Overnight hours (single row): e.g., 22:00 → 02:00
-            if (dow == today) {
-                if (close.isBefore(open)) { // crosses midnight
-                    if (!timeNow.isBefore(open) || timeNow.isBefore(close)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+    // minuteOfWeek: minutes since Sunday 00:00 campus time, captured once per request by callers
+    public boolean isOpenAt(int minuteOfWeek) {
+        return getOpenSchedule().isOpenAt(minuteOfWeek);
     }
 
     // Expose isOpen as 0/1 for frontend
@@ -125,35 +149,18 @@ public class StudySpot {
         return isOpenNow() ? 1 : 0;
     }
 
-    // Format hours into single string: "monday: 9am-5pm, tuesday: ..."
+    // Pre-rendered "monday: 9am-5pm, tuesday: ..." string, refreshed by compileHours()
     @Transient
     public String getHoursFormatted() {
-        if (hours == null || hours.isEmpty()) return "";
-
-        Map<Integer, String> dayNames = Map.of(
-                0, "sunday", 1, "monday", 2, "tuesday", 3, "wednesday",
-                4, "thursday", 5, "friday", 6, "saturday"
-        );
-
-        StringBuilder sb = new StringBuilder();
-        // Group by day-of-week and concatenate time ranges
-        for (int dow = 0; dow <= 6; dow++) {
-            String day = dayNames.get(dow);
-            StringBuilder ranges = new StringBuilder();
-            for (StudySpotHours h : hours) {
-                if (h.getDayOfWeek() == dow) {
-                    String open = toAmPm(h.getOpenTime());
-                    String close = toAmPm(h.getCloseTime());
-                    if (ranges.length() > 0) ranges.append(", ");
-                    ranges.append(open).append("-").append(close);
-                }
-            }
-            if (ranges.length() > 0) {
-                if (sb.length() > 0) sb.append(", ");
-                sb.append(day).append(": ").append(ranges);
-            }
-        }
-        return sb.toString();
+        if (hoursFormatted == null) compileHours();
+        return hoursFormatted;
+    }
+
+    // Pre-rendered per-day JSON object, refreshed by compileHours()
+    @Transient
+    public String getHoursJson() {
+        if (hoursJson == null) compileHours();
+        return hoursJson;
     }
 
     // Position as [lat, lng]
@@ -167,17 +174,4 @@ public class StudySpot {
     public String getImage() {
         return imageUrl;
     }
-
-    // Utility: 24h -> 12h am/pm
-    private String toAmPm(LocalTime t) {
-        int hour = t.getHour();
-        int minute = t.getMinute();
-        String ampm = hour >= 12 ? "pm" : "am";
-        int hr12 = hour % 12;
-        if (hr12 == 0) hr12 = 12;
-        if (minute == 0) {
-            return hr12 + ampm;
-        }
-        return hr12 + ":" + String.format("%02d", minute) + ampm;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.studyspotfinder.model;
+
+import java.time.Clock;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A spot's opening hours compiled into sorted, non-overlapping [start, end) intervals
+ * measured in minutes since Sunday 00:00. Overnight rows spill into the following day
+ * (Saturday night wraps to Sunday morning), so "is it open" is a binary search over a
+ * handful of ints instead of a scan over hour entities.
+ */
+public final class WeeklySchedule {
+
+    public static final ZoneId CAMPUS_ZONE = ZoneId.of("America/Los_Angeles");
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    // Length of the open_schedule column that holds encode()
+    public static final int MAX_ENCODED_LENGTH = 1024;
+
+    public static final WeeklySchedule EMPTY = new WeeklySchedule(new int[0], new int[0]);
+
+    private final int[] starts;
+    private final int[] ends;
+
+    private WeeklySchedule(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    public static WeeklySchedule compile(List<StudySpotHours> hours) {
+        if (hours == null || hours.isEmpty()) return EMPTY;
+
+        int[][] raw = new int[hours.size() * 2][];
+        int n = 0;
+        for (StudySpotHours h : hours) {
+            int dayStart = h.getDayOfWeek() * MINUTES_PER_DAY;
+            int open = ceilMinute(h.getOpenTime());
+            int close = ceilMinute(h.getCloseTime());
+            if (open == close) continue; // zero-length row: never open
+            if (close > open) {
+                raw[n++] = new int[] { dayStart + open, dayStart + close };
+            } else {
+                // Crosses midnight: open until the end of this day, then into the next one
+                raw[n++] = new int[] { dayStart + open, dayStart + MINUTES_PER_DAY };
+                int nextDayStart = (dayStart + MINUTES_PER_DAY) % MINUTES_PER_WEEK;
+                if (close > 0) raw[n++] = new int[] { nextDayStart, nextDayStart + close };
+            }
+        }
+        return fromIntervals(Arrays.copyOf(raw, n));
+    }
+
+    /**
+     * Sorts and merges touching/overlapping intervals. Each interval must lie within one week.
+     */
+    static WeeklySchedule fromIntervals(int[][] intervals) {
+        if (intervals.length == 0) return EMPTY;
+        Arrays.sort(intervals, (a, b) -> Integer.compare(a[0], b[0]));
+        int[] starts = new int[intervals.length];
+        int[] ends = new int[intervals.length];
+        int n = 0;
+        for (int[] iv : intervals) {
+            if (n > 0 && iv[0] <= ends[n - 1]) {
+                ends[n - 1] = Math.max(ends[n - 1], iv[1]);
+            } else {
+                starts[n] = iv[0];
+                ends[n] = iv[1];
+                n++;
+            }
+        }
+        return new WeeklySchedule(Arrays.copyOf(starts, n), Arrays.copyOf(ends, n));
+    }
+
+    public boolean isOpenAt(int minuteOfWeek) {
+        int i = Arrays.binarySearch(starts, minuteOfWeek);
+        if (i >= 0) return true;
+        int candidate = -i - 2; // last interval starting before minuteOfWeek
+        return candidate >= 0 && minuteOfWeek < ends[candidate];
+    }
+
+    public boolean isEmpty() { return starts.length == 0; }
+
+    public int intervalCount() { return starts.length; }
+
+    public int startAt(int i) { return starts[i]; }
+
+    public int endAt(int i) { return ends[i]; }
+
+    public static int currentMinuteOfWeek() {
+        return minuteOfWeek(ZonedDateTime.now(CAMPUS_ZONE));
+    }
+
+    public static int currentMinuteOfWeek(Clock clock) {
+        return minuteOfWeek(ZonedDateTime.now(clock.withZone(CAMPUS_ZONE)));
+    }
+
+    public static int minuteOfWeek(ZonedDateTime time) {
+        ZonedDateTime local = time.withZoneSameInstant(CAMPUS_ZONE);
+        int dow = local.getDayOfWeek().getValue() % 7; // Monday=1..Sunday=7 → Sunday=0
+        return dow * MINUTES_PER_DAY + local.getHour() * 60 + local.getMinute();
+    }
+
+    // Compact text form for the database column: "start-end,start-end" in minutes of the week
+    public String encode() {
+        StringBuilder sb = new StringBuilder(starts.length * 10);
+        for (int i = 0; i < starts.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(starts[i]).append('-').append(ends[i]);
+        }
+        return sb.toString();
+    }
+
+    public static WeeklySchedule decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) return EMPTY;
+        String[] parts = encoded.split(",");
+        int[] starts = new int[parts.length];
+        int[] ends = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            int dash = parts[i].indexOf('-');
+            starts[i] = Integer.parseInt(parts[i], 0, dash, 10);
+            ends[i] = Integer.parseInt(parts[i], dash + 1, parts[i].length(), 10);
+        }
+        return new WeeklySchedule(starts, ends);
+    }
+
+    private static int ceilMinute(LocalTime t) {
+        int minute = t.getHour() * 60 + t.getMinute();
+        return t.getSecond() > 0 || t.getNano() > 0 ? minute + 1 : minute;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WeeklySchedule)) return false;
+        WeeklySchedule other = (WeeklySchedule) o;
+        return Arrays.equals(starts, other.starts) && Arrays.equals(ends, other.ends);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(starts) + Arrays.hashCode(ends);
+    }
+
+    @Override
+    public String toString() {
+        return "WeeklySchedule[" + encode() + "]";
+    }
+}
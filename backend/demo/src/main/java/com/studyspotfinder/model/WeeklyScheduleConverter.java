@@ -0,0 +1,18 @@
+package com.studyspotfinder.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class WeeklyScheduleConverter implements AttributeConverter<WeeklySchedule, String> {
+
+    @Override
+    public String convertToDatabaseColumn(WeeklySchedule schedule) {
+        return schedule == null ? null : schedule.encode();
+    }
+
+    @Override
+    public WeeklySchedule convertToEntityAttribute(String encoded) {
+        return encoded == null ? null : WeeklySchedule.decode(encoded);
+    }
+}
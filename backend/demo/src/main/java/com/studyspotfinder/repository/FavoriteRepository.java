@@ -13,6 +13,9 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     @Query("select f from Favorite f where f.user.id = :userId and f.studySpot.id = :spotId")
     Optional<Favorite> findByUserIdAndStudySpotId(Long userId, Long spotId);
 
-    @Query("select f from Favorite f join fetch f.studySpot where f.user.id = :userId")
-    List<Favorite> findByUserId(Long userId);
-}
\ No newline at end of file
+    @Query("select f.studySpot.id from Favorite f where f.user.id = :userId")
+    List<Long> findSpotIdsByUserId(Long userId);
+
+    @Query("select f.studySpot.id as spotId, count(f) as favoriteCount from Favorite f group by f.studySpot.id")
+    List<SpotFavoriteCount> countBySpot();
+}
@@ -1,7 +1,10 @@
 package com.studyspotfinder.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -9,8 +12,21 @@ import com.studyspotfinder.model.Review;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
-    @Query("select avg(r.rating) from Review r where r.studySpot.id = :spotId")
-    Double findAverageRatingBySpotId(Long spotId);
+    // Per-star review counts for a chunk of spots, used to rebuild rating summaries
+    @Query("select r.studySpot.id as spotId, r.rating as rating, count(r) as reviewCount from Review r "
+            + "where r.studySpot.id in :spotIds group by r.studySpot.id, r.rating")
+    List<SpotRatingCount> countRatingsBySpotIds(Collection<Long> spotIds);
 
-    List<Review> findByStudySpotIdOrderByCreatedAtDesc(Long spotId);
-}
\ No newline at end of file
+    // Newest reviews of a spot (first page); range scan on idx_reviews_spot_timestamp
+    @Query("select new com.studyspotfinder.repository.ReviewView(r.id, r.rating, r.comment, r.createdAt, u.id, u.username) "
+            + "from Review r join r.user u where r.studySpot.id = :spotId "
+            + "order by r.createdAt desc, r.id desc")
+    List<ReviewView> findNewestBySpotId(Long spotId, Limit limit);
+
+    // Next page after the (createdAt, id) keyset of the last review already returned
+    @Query("select new com.studyspotfinder.repository.ReviewView(r.id, r.rating, r.comment, r.createdAt, u.id, u.username) "
+            + "from Review r join r.user u where r.studySpot.id = :spotId "
+            + "and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id)) "
+            + "order by r.createdAt desc, r.id desc")
+    List<ReviewView> findBySpotIdBefore(Long spotId, LocalDateTime createdAt, Long id, Limit limit);
+}
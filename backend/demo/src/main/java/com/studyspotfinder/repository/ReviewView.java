@@ -0,0 +1,33 @@
+package com.studyspotfinder.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a review and its author, filled by a single join query so listing
+ * reviews never lazily loads users.
+ */
+public class ReviewView {
+
+    private final Long id;
+    private final Integer rating;
+    private final String comment;
+    private final LocalDateTime createdAt;
+    private final Long userId;
+    private final String username;
+
+    public ReviewView(Long id, Integer rating, String comment, LocalDateTime createdAt, Long userId, String username) {
+        this.id = id;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = createdAt;
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public Long getId() { return id; }
+    public Integer getRating() { return rating; }
+    public String getComment() { return comment; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getUserId() { return userId; }
+    public String getUsername() { return username; }
+}
@@ -0,0 +1,13 @@
+package com.studyspotfinder.repository;
+
+/**
+ * Projection of a spot's id and position, used to build the in-memory geo index.
+ */
+public interface SpotCoordinates {
+
+    Long getId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
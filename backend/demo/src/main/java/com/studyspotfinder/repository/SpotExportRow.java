@@ -0,0 +1,17 @@
+package com.studyspotfinder.repository;
+
+import com.studyspotfinder.model.SpotRatingSummary;
+import com.studyspotfinder.model.StudySpot;
+
+/**
+ * One row of the catalog export: the spot, its rating summary (null before the first
+ * review) and how many users have it as a favorite.
+ */
+public interface SpotExportRow {
+
+    StudySpot getSpot();
+
+    SpotRatingSummary getSummary();
+
+    long getFavoriteCount();
+}
@@ -0,0 +1,11 @@
+package com.studyspotfinder.repository;
+
+/**
+ * Projection for the number of users who favorited a spot.
+ */
+public interface SpotFavoriteCount {
+
+    Long getSpotId();
+
+    Long getFavoriteCount();
+}
@@ -0,0 +1,13 @@
+package com.studyspotfinder.repository;
+
+/**
+ * Projection of a spot's id, name and type, used to build the autocomplete index.
+ */
+public interface SpotNameRow {
+
+    Long getId();
+
+    String getName();
+
+    String getType();
+}
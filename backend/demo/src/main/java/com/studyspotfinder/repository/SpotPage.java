@@ -0,0 +1,22 @@
+package com.studyspotfinder.repository;
+
+import java.util.List;
+
+/**
+ * One listing page and, when another page follows, the row it starts after. That row is the
+ * page's last one, or with an id filter possibly a skipped row further on where the scan stopped.
+ */
+public class SpotPage {
+
+    private final List<SpotPageRow> rows;
+    private final SpotPageRow nextAfter;
+
+    public SpotPage(List<SpotPageRow> rows, SpotPageRow nextAfter) {
+        this.rows = rows;
+        this.nextAfter = nextAfter;
+    }
+
+    public List<SpotPageRow> getRows() { return rows; }
+    // Null on the last page
+    public SpotPageRow getNextAfter() { return nextAfter; }
+}
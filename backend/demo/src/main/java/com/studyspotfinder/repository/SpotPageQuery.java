@@ -0,0 +1,61 @@
+package com.studyspotfinder.repository;
+
+import java.util.List;
+
+/**
+ * One page of GET /api/spots: optional filters, a sort and a keyset position. Every sort ends in
+ * the spot id, so {@code (afterKey, afterId)} from the last row of a page identifies where the
+ * next page starts.
+ */
+public class SpotPageQuery {
+
+    public enum Sort {
+        ID,
+        NAME,
+        // Highest average first; spots without reviews count as 0
+        RATING,
+        // Nearest to (lat, lng) first; spots without coordinates are left out
+        DISTANCE
+    }
+
+    private Sort sort = Sort.ID;
+    private String type;
+    private Double minRating;
+    private List<Long> onlyIds;
+    private double lat;
+    private double lng;
+    private Object afterKey;
+    private Long afterId;
+    private int limit = 50;
+
+    public Sort getSort() { return sort; }
+    public void setSort(Sort sort) { this.sort = sort; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Double getMinRating() { return minRating; }
+    public void setMinRating(Double minRating) { this.minRating = minRating; }
+
+    // Restricts the page to these spots (e.g. the ones open now); null = no restriction
+    public List<Long> getOnlyIds() { return onlyIds; }
+    public void setOnlyIds(List<Long> onlyIds) { this.onlyIds = onlyIds; }
+
+    public double getLat() { return lat; }
+    public double getLng() { return lng; }
+    public void setOrigin(double lat, double lng) {
+        this.lat = lat;
+        this.lng = lng;
+    }
+
+    // Sort key of the last row already returned: name (String) or rating/distance key (Double); unused for ID
+    public Object getAfterKey() { return afterKey; }
+    public Long getAfterId() { return afterId; }
+    public void setAfter(Object afterKey, Long afterId) {
+        this.afterKey = afterKey;
+        this.afterId = afterId;
+    }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
@@ -0,0 +1,18 @@
+package com.studyspotfinder.repository;
+
+import com.studyspotfinder.model.StudySpot;
+
+/** A spot of a listing page with the sort key it was ordered by, as computed by the database. */
+public class SpotPageRow {
+
+    private final StudySpot spot;
+    private final Object sortKey;
+
+    public SpotPageRow(StudySpot spot, Object sortKey) {
+        this.spot = spot;
+        this.sortKey = sortKey;
+    }
+
+    public StudySpot getSpot() { return spot; }
+    public Object getSortKey() { return sortKey; }
+}
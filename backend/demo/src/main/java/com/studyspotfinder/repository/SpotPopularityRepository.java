@@ -0,0 +1,8 @@
+package com.studyspotfinder.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.studyspotfinder.model.SpotPopularity;
+
+public interface SpotPopularityRepository extends JpaRepository<SpotPopularity, Long> {
+}
@@ -0,0 +1,13 @@
+package com.studyspotfinder.repository;
+
+/**
+ * Projection for a grouped (spot, rating) review count.
+ */
+public interface SpotRatingCount {
+
+    Long getSpotId();
+
+    Integer getRating();
+
+    Long getReviewCount();
+}
@@ -0,0 +1,55 @@
+package com.studyspotfinder.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.studyspotfinder.model.SpotRatingSummary;
+
+import jakarta.persistence.LockModeType;
+
+public interface SpotRatingSummaryRepository extends JpaRepository<SpotRatingSummary, Long> {
+
+    // Atomic in-place increment; returns 0 when the spot has no summary row yet. The average is
+    // assigned first: MySQL evaluates SET left to right, so it must read the old count and sum
+    @Modifying
+    @Query("update SpotRatingSummary s set "
+            + "s.averageRating = cast(s.ratingSum + :rating as Double) / (s.reviewCount + 1), "
+            + "s.reviewCount = s.reviewCount + 1, s.ratingSum = s.ratingSum + :rating, "
+            + "s.stars1 = s.stars1 + (case when :rating = 1 then 1 else 0 end), "
+            + "s.stars2 = s.stars2 + (case when :rating = 2 then 1 else 0 end), "
+            + "s.stars3 = s.stars3 + (case when :rating = 3 then 1 else 0 end), "
+            + "s.stars4 = s.stars4 + (case when :rating = 4 then 1 else 0 end), "
+            + "s.stars5 = s.stars5 + (case when :rating = 5 then 1 else 0 end) "
+            + "where s.spotId = :spotId")
+    int incrementForReview(Long spotId, int rating);
+
+    // Inserts the row unless the spot already has one (a concurrent first review, or a new spot's
+    // empty row); returns 0 when it was skipped
+    @Modifying
+    @Query(value = "insert ignore into spot_rating_summaries "
+            + "(spot_id, review_count, rating_sum, average_rating, stars_1, stars_2, stars_3, stars_4, stars_5) "
+            + "values (:spotId, :reviewCount, :ratingSum, :averageRating, :stars1, :stars2, :stars3, :stars4, :stars5)",
+            nativeQuery = true)
+    int insertIfAbsent(Long spotId, int reviewCount, long ratingSum, Double averageRating,
+                       int stars1, int stars2, int stars3, int stars4, int stars5);
+
+    default int insertIfAbsent(SpotRatingSummary summary) {
+        int[] h = summary.getHistogram();
+        return insertIfAbsent(summary.getSpotId(), summary.getReviewCount(), summary.getRatingSum(),
+                summary.getAverageRating(), h[0], h[1], h[2], h[3], h[4]);
+    }
+
+    // Summaries written before the average was stored
+    @Query("select count(s) from SpotRatingSummary s where s.reviewCount > 0 and s.averageRating is null")
+    long countWithoutAverage();
+
+    // Row-locks the summaries of a chunk so concurrent review writes wait for the rebuild
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from SpotRatingSummary s where s.spotId in :spotIds")
+    List<SpotRatingSummary> findAllForUpdate(Collection<Long> spotIds);
+}
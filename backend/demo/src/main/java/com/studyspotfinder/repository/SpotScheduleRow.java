@@ -0,0 +1,13 @@
+package com.studyspotfinder.repository;
+
+import com.studyspotfinder.model.WeeklySchedule;
+
+/**
+ * Projection of a spot's id and compiled weekly schedule, used to build the open-hours index.
+ */
+public interface SpotScheduleRow {
+
+    Long getId();
+
+    WeeklySchedule getOpenSchedule();
+}
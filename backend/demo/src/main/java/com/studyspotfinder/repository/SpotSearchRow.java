@@ -0,0 +1,17 @@
+package com.studyspotfinder.repository;
+
+/**
+ * Projection of the text fields of a spot, used to build the in-memory search index.
+ */
+public interface SpotSearchRow {
+
+    Long getId();
+
+    String getName();
+
+    String getType();
+
+    String getDescription();
+
+    String getNote();
+}
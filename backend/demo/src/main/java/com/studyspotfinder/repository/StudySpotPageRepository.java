@@ -0,0 +1,9 @@
+package com.studyspotfinder.repository;
+
+import java.util.List;
+
+public interface StudySpotPageRepository {
+
+    /** Up to {@code query.getLimit()} spots matching the filters, in sort order, after the keyset position. */
+    List<SpotPageRow> findPage(SpotPageQuery query);
+}
@@ -0,0 +1,79 @@
+package com.studyspotfinder.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.studyspotfinder.model.StudySpot;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Builds the listing query from the filters that are set. The sort key is selected with each
+ * spot and the keyset condition compares against the key the database returned for the last row,
+ * so rows with equal keys are never skipped or repeated across pages.
+ */
+class StudySpotPageRepositoryImpl implements StudySpotPageRepository {
+
+    private final EntityManager entityManager;
+
+    StudySpotPageRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<SpotPageRow> findPage(SpotPageQuery query) {
+        SpotPageQuery.Sort sort = query.getSort();
+        String key = switch (sort) {
+            case ID -> "s.id";
+            case NAME -> "s.name";
+            case RATING -> "coalesce(r.averageRating, 0.0)";
+            // Squared equirectangular distance: orders like the true distance at campus scale
+            case DISTANCE -> "((s.latitude - :lat) * (s.latitude - :lat) + (s.longitude - :lng) * (s.longitude - :lng) * :lngScale)";
+        };
+        boolean descending = sort == SpotPageQuery.Sort.RATING;
+        boolean joinSummary = sort == SpotPageQuery.Sort.RATING || query.getMinRating() != null;
+
+        StringBuilder jpql = new StringBuilder("select s, ").append(key).append(" from StudySpot s");
+        if (joinSummary) jpql.append(" left join SpotRatingSummary r on r.spotId = s.id");
+        List<String> where = new ArrayList<>();
+        if (query.getType() != null) where.add("s.type = :type");
+        if (query.getMinRating() != null) where.add("r.averageRating >= :minRating");
+        if (query.getOnlyIds() != null) where.add("s.id in :onlyIds");
+        if (sort == SpotPageQuery.Sort.DISTANCE) where.add("s.latitude is not null and s.longitude is not null");
+        if (query.getAfterId() != null) {
+            if (sort == SpotPageQuery.Sort.ID) {
+                where.add("s.id > :afterId");
+            } else {
+                String beyond = descending ? " < " : " > ";
+                where.add("(" + key + beyond + ":afterKey or (" + key + " = :afterKey and s.id > :afterId))");
+            }
+        }
+        if (!where.isEmpty()) jpql.append(" where ").append(String.join(" and ", where));
+        jpql.append(" order by ");
+        if (sort != SpotPageQuery.Sort.ID) jpql.append(key).append(descending ? " desc, " : ", ");
+        jpql.append("s.id");
+
+        TypedQuery<Object[]> q = entityManager.createQuery(jpql.toString(), Object[].class);
+        if (query.getType() != null) q.setParameter("type", query.getType());
+        if (query.getMinRating() != null) q.setParameter("minRating", query.getMinRating());
+        if (query.getOnlyIds() != null) q.setParameter("onlyIds", query.getOnlyIds());
+        if (sort == SpotPageQuery.Sort.DISTANCE) {
+            double cosLat = Math.cos(Math.toRadians(query.getLat()));
+            q.setParameter("lat", query.getLat());
+            q.setParameter("lng", query.getLng());
+            q.setParameter("lngScale", cosLat * cosLat);
+        }
+        if (query.getAfterId() != null) {
+            q.setParameter("afterId", query.getAfterId());
+            if (sort != SpotPageQuery.Sort.ID) q.setParameter("afterKey", query.getAfterKey());
+        }
+        q.setMaxResults(query.getLimit());
+
+        List<SpotPageRow> rows = new ArrayList<>();
+        for (Object[] row : q.getResultList()) {
+            rows.add(new SpotPageRow((StudySpot) row[0], row[1]));
+        }
+        return rows;
+    }
+}
@@ -1,8 +1,58 @@
 package com.studyspotfinder.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
 import com.studyspotfinder.model.StudySpot;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
+
+public interface StudySpotRepository extends JpaRepository<StudySpot, Long>, StudySpotPageRepository {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    @Query("select s from StudySpot s left join fetch s.hours where s.id in :ids")
+    List<StudySpot> findAllWithHoursByIdIn(Collection<Long> ids);
+
+    @Query("select s.id as id, s.latitude as latitude, s.longitude as longitude from StudySpot s "
+            + "where s.latitude is not null and s.longitude is not null")
+    List<SpotCoordinates> findAllCoordinates();
+
+    @Query("select s.id as id, s.openSchedule as openSchedule from StudySpot s where s.openSchedule is not null")
+    List<SpotScheduleRow> findAllSchedules();
+
+    @Query("select s.id as id, s.name as name, s.type as type, s.description as description, s.note as note "
+            + "from StudySpot s")
+    List<SpotSearchRow> findAllSearchRows();
+
+    @Query("select s.id as id, s.name as name, s.type as type from StudySpot s")
+    List<SpotNameRow> findAllNameRows();
+
+    // Spots saved before their hours were compiled (schedule and pre-rendered strings)
+    @Query("select s.id from StudySpot s where s.openSchedule is null or s.hoursFormatted is null or s.hoursJson is null")
+    List<Long> findIdsWithoutCompiledHours();
+
+    // Keyset walk over spot ids, for jobs that process the catalog in chunks
+    @Query("select s.id from StudySpot s where s.id > :afterId order by s.id")
+    List<Long> findIdsAfter(Long afterId, Pageable page);
 
-public interface StudySpotRepository extends JpaRepository<StudySpot, Long> {
-    // add custom queries if needed later
-}
\ No newline at end of file
+    /**
+     * Every spot with its rating summary and favorite count in id order, read forward-only in
+     * fetches of {@value #EXPORT_FETCH_SIZE} rows. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s as spot, r as summary, "
+            + "(select count(f) from Favorite f where f.studySpot = s) as favoriteCount "
+            + "from StudySpot s left join SpotRatingSummary r on r.spotId = s.id order by s.id")
+    Stream<SpotExportRow> streamForExport();
+}
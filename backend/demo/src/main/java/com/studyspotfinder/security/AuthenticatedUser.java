@@ -0,0 +1,40 @@
+package com.studyspotfinder.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Lightweight principal published by {@link JwtAuthenticationFilter}, built from token claims
+ * so controllers know who is calling without loading the users row. Inject it with
+ * {@link CurrentUser}.
+ */
+public final class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String username;
+    private final String email;
+
+    public AuthenticatedUser(Long id, String username, String email) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+    }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public String getEmail() { return email; }
+
+    // Tokens issued before uid/username claims existed only carry the email
+    public boolean isComplete() {
+        return id != null && username != null;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -0,0 +1,12 @@
+package com.studyspotfinder.security;
+
+/**
+ * Thrown (as the cause of a failed future) when the password hashing queue is full.
+ * Controllers answer it with 503 so clients back off instead of piling up.
+ */
+public class HashingCapacityException extends RuntimeException {
+
+    public HashingCapacityException() {
+        super("Password hashing capacity exhausted");
+    }
+}
@@ -2,6 +2,7 @@ package com.studyspotfinder.security;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -41,23 +42,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String subject;
-        try {
-            subject = jwtService.extractSubject(token);
-        } catch (Exception ex) {
+        // The token is parsed here only; controllers receive the principal through @CurrentUser
+        Optional<VerifiedToken> verified = jwtService.verify(token);
+        if (verified.isEmpty()) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtService.isTokenValid(token, subject)) {
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        subject,
-                        null,
-                        List.of(new SimpleGrantedAuthority("ROLE_USER")));
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    verified.get().toPrincipal(),
+                    null,
+                    List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         }
 
         filterChain.doFilter(request, response);
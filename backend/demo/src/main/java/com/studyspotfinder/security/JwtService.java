@@ -1,64 +1,148 @@
 package com.studyspotfinder.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.studyspotfinder.model.User;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
+/**
+ * Issues and verifies JWTs. The subject is the user's email; {@value #USER_ID_CLAIM} and
+ * {@value #USERNAME_CLAIM} carry the rest of the caller's identity. The signing key and parser are built once; tokens that passed
+ * verification are remembered (keyed by their SHA-256, never the raw token) until they expire,
+ * so a client repeating the same token skips signature checking altogether.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String USERNAME_CLAIM = "username";
 
-    @Value("${jwt.expiration-hours:24}")
-    private long expirationHours;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationHours;
+    private final Cache<String, VerifiedToken> verified;
+    private final LongAdder parses = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration-hours:24}") long expirationHours,
+                      @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expirationHours = expirationHours;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.creating((String hash, VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.getExpiresAt())))
+                .recordStats()
+                .build();
+    }
 
-    private byte[] getSigningKey() {
-        return secret.getBytes();
+    public String generateToken(User user) {
+        return generateToken(user.getEmail(), user.getId(), user.getUsername());
     }
 
     public String generateToken(String subject) {
+        return generateToken(subject, null, null);
+    }
+
+    private String generateToken(String subject, Long userId, String username) {
         Instant now = Instant.now();
         Instant expiry = now.plus(expirationHours, ChronoUnit.HOURS);
 
         return Jwts.builder()
                 .subject(subject)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(USERNAME_CLAIM, username)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiry))
-                .signWith(Keys.hmacShaKeyFor(getSigningKey()))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractSubject(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Verifies signature and expiry, parsing the token at most once while it stays cached.
+     * Returns empty for malformed, tampered or expired tokens.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            return cached.isExpired(Instant.now()) ? Optional.empty() : Optional.of(cached);
+        }
+        VerifiedToken parsed;
+        long start = System.nanoTime();
+        try {
+            parsed = parse(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        } finally {
+            parses.increment();
+            parseNanos.add(System.nanoTime() - start);
+        }
+        if (parsed == null || parsed.isExpired(Instant.now())) return Optional.empty();
+        verified.put(key, parsed);
+        return Optional.of(parsed);
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String extractSubject(String token) {
+        return verify(token).map(VerifiedToken::getSubject).orElse(null);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(getSigningKey()))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public CacheStats verifiedCacheStats() {
+        return verified.stats();
     }
 
-    public boolean isTokenValid(String token, String expectedSubject) {
-        String subject = extractSubject(token);
-        Date expiration = extractClaim(token, Claims::getExpiration);
-        return subject.equals(expectedSubject) && expiration.after(new Date());
+    public Cache<String, VerifiedToken> verifiedCache() {
+        return verified;
     }
-}
 
+    // Full signature checks, i.e. verified-cache misses
+    public long parseCount() { return parses.sum(); }
+    public long totalParseNanos() { return parseNanos.sum(); }
+
+    // Tokens without a subject or expiry are rejected
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getSubject() == null || claims.getExpiration() == null) return null;
+        Instant issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return new VerifiedToken(claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                claims.get(USERNAME_CLAIM, String.class),
+                issuedAt,
+                claims.getExpiration().toInstant());
+    }
 
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.studyspotfinder.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature has already been checked. The authentication filter turns it
+ * into the request's {@link AuthenticatedUser} so later code never parses the token again.
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Long userId;
+    private final String username;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public VerifiedToken(String subject, Long userId, String username, Instant issuedAt, Instant expiresAt) {
+        this.subject = subject;
+        this.userId = userId;
+        this.username = username;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getSubject() { return subject; }
+    public Long getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public Instant getIssuedAt() { return issuedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public AuthenticatedUser toPrincipal() {
+        return new AuthenticatedUser(userId, username, subject);
+    }
+}
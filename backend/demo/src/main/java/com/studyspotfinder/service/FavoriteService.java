@@ -0,0 +1,43 @@
+package com.studyspotfinder.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.studyspotfinder.cache.UserFavoritesCache;
+import com.studyspotfinder.event.FavoriteChangedEvent;
+import com.studyspotfinder.model.WeeklySchedule;
+
+@Service
+public class FavoriteService {
+
+    private final UserFavoritesCache userFavoritesCache;
+    private final StudySpotService studySpotService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FavoriteService(UserFavoritesCache userFavoritesCache,
+                           StudySpotService studySpotService,
+                           ApplicationEventPublisher eventPublisher) {
+        this.userFavoritesCache = userFavoritesCache;
+        this.studySpotService = studySpotService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Sets or clears the user's favorite flag for a spot. Returns false if the spot does not exist.
+     * The flag takes effect in the user's cached favorites at once and reaches the database with
+     * the next write-behind flush. Listeners are notified only when the flag actually changed.
+     */
+    public boolean setFavorite(Long userId, Long spotId, boolean favorite) {
+        // The spot is looked up through the detail cache, which getMyFavorites reads from anyway
+        if (studySpotService.findDetail(spotId, WeeklySchedule.currentMinuteOfWeek()) == null) return false;
+        if (userFavoritesCache.set(userId, spotId, favorite)) {
+            eventPublisher.publishEvent(new FavoriteChangedEvent(userId, spotId, favorite));
+        }
+        return true;
+    }
+
+    /** The user's favorite spot ids, ascending. */
+    public long[] favoriteSpotIds(Long userId) {
+        return userFavoritesCache.spotIds(userId);
+    }
+}
@@ -0,0 +1,157 @@
+package com.studyspotfinder.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Queue of favorite flags waiting to be written to the {@code favorites} table.
+ * <p>
+ * Flags are keyed by (user, spot), so toggling the same heart repeatedly between flushes leaves
+ * only the last state to write. A flush drains the queue in batches of
+ * {@code favorites.write-behind.batch-size}, each one JDBC batch of idempotent inserts
+ * ({@code insert ignore}) and one of deletes in its own transaction. A flag leaves the queue
+ * only after its batch commits, so until then it is still visible to {@link #pendingFor}.
+ * A batch the database rejects is retried row by row and the rejected rows (a spot deleted in
+ * the meantime) are dropped; any other failure leaves the flags queued for the next flush.
+ */
+@Service
+public class FavoriteWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(FavoriteWriteBehind.class);
+
+    private static final String INSERT = "insert ignore into favorites (user_id, spot_id) values (?, ?)";
+    private static final String DELETE = "delete from favorites where user_id = ? and spot_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Map<Key, Boolean> pending = new ConcurrentHashMap<>();
+    private final AtomicLong written = new AtomicLong();
+
+    public FavoriteWriteBehind(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${favorites.write-behind.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /** Queues the flag, replacing any unwritten flag for the same user and spot. */
+    public void enqueue(long userId, long spotId, boolean favorite) {
+        pending.put(new Key(userId, spotId), favorite);
+    }
+
+    /** Unwritten flags of one user by spot id. */
+    public Map<Long, Boolean> pendingFor(long userId) {
+        Map<Long, Boolean> flags = new HashMap<>();
+        pending.forEach((key, favorite) -> {
+            if (key.userId == userId) flags.put(key.spotId, favorite);
+        });
+        return flags;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /** Rows written (inserted or deleted) since startup. */
+    public long writtenCount() {
+        return written.get();
+    }
+
+    @Scheduled(fixedDelayString = "${favorites.write-behind.flush-interval:1s}",
+               initialDelayString = "${favorites.write-behind.flush-interval:1s}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Everything not yet committed stays queued; the next flush retries it
+            log.warn("Favorite write-behind flush failed, {} flag(s) still queued", pending.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /** Writes every queued flag; returns the number written. */
+    public synchronized int flush() {
+        if (pending.isEmpty()) return 0;
+        List<Map.Entry<Key, Boolean>> queued = new ArrayList<>(pending.size());
+        pending.forEach((key, favorite) -> queued.add(Map.entry(key, favorite)));
+
+        int count = 0;
+        for (int from = 0; from < queued.size(); from += batchSize) {
+            List<Map.Entry<Key, Boolean>> batch = queued.subList(from, Math.min(from + batchSize, queued.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+            } catch (DataIntegrityViolationException e) {
+                writeOneByOne(batch);
+            }
+            // Only drop flags that were not toggled again while the batch was written
+            batch.forEach(flag -> pending.remove(flag.getKey(), flag.getValue()));
+            count += batch.size();
+        }
+        written.addAndGet(count);
+        return count;
+    }
+
+    private void writeOneByOne(List<Map.Entry<Key, Boolean>> batch) {
+        for (Map.Entry<Key, Boolean> flag : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(List.of(flag)));
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Dropping favorite flag for user {} and spot {}: {}",
+                        flag.getKey().userId, flag.getKey().spotId, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void write(List<Map.Entry<Key, Boolean>> batch) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Map.Entry<Key, Boolean> flag : batch) {
+            Object[] args = { flag.getKey().userId, flag.getKey().spotId };
+            (flag.getValue() ? inserts : deletes).add(args);
+        }
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT, inserts);
+        if (!deletes.isEmpty()) jdbcTemplate.batchUpdate(DELETE, deletes);
+    }
+
+    private static final class Key {
+        final long userId;
+        final long spotId;
+
+        Key(long userId, long spotId) {
+            this.userId = userId;
+            this.spotId = spotId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && k.userId == userId && k.spotId == spotId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(userId) * 31 + Long.hashCode(spotId);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.studyspotfinder.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyspotfinder.event.SpotsRefreshedEvent;
+import com.studyspotfinder.model.SpotRatingSummary;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.SpotRatingCount;
+import com.studyspotfinder.repository.SpotRatingSummaryRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+
+/**
+ * Maintains the per-spot rating summaries. Review writes update the summary in the
+ * same transaction; a reconcile job periodically recomputes them from the reviews table.
+ */
+@Service
+public class RatingSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingSummaryService.class);
+
+    private final SpotRatingSummaryRepository summaryRepository;
+    private final ReviewRepository reviewRepository;
+    private final StudySpotRepository studySpotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${ratings.reconcile-chunk-size:500}")
+    private int chunkSize;
+
+    public RatingSummaryService(SpotRatingSummaryRepository summaryRepository,
+                                ReviewRepository reviewRepository,
+                                StudySpotRepository studySpotRepository,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher) {
+        this.summaryRepository = summaryRepository;
+        this.reviewRepository = reviewRepository;
+        this.studySpotRepository = studySpotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Optional<SpotRatingSummary> findBySpotId(Long spotId) {
+        return summaryRepository.findById(spotId);
+    }
+
+    public Map<Long, SpotRatingSummary> findAll() {
+        return summaryRepository.findAll().stream()
+                .collect(Collectors.toMap(SpotRatingSummary::getSpotId, Function.identity()));
+    }
+
+    public Map<Long, SpotRatingSummary> findBySpotIds(Collection<Long> spotIds) {
+        return summaryRepository.findAllById(spotIds).stream()
+                .collect(Collectors.toMap(SpotRatingSummary::getSpotId, Function.identity()));
+    }
+
+    /**
+     * Adds one review to the spot's summary. Must run inside the transaction that
+     * inserts the review so both commit or roll back together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReview(Long spotId, int rating) {
+        if (summaryRepository.incrementForReview(spotId, rating) != 0) return;
+        // A spot without a summary row (new spots get an empty one; this covers rows written
+        // elsewhere): build it from the (already flushed) reviews. If a concurrent first review
+        // inserted it meanwhile, the insert is skipped and this review is added to that row.
+        if (summaryRepository.insertIfAbsent(computeSummaries(List.of(spotId), Map.of()).get(spotId)) == 0) {
+            summaryRepository.incrementForReview(spotId, rating);
+        }
+    }
+
+    /** Creates the empty summary row of a new spot, so its first review is a plain increment. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createEmpty(Long spotId) {
+        summaryRepository.insertIfAbsent(new SpotRatingSummary(spotId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1) // before the catalog and indexes that read summaries load
+    public void backfillOnStartup() {
+        if (summaryRepository.count() < studySpotRepository.count() || summaryRepository.countWithoutAverage() > 0) {
+            rebuildAll();
+        }
+    }
+
+    @Scheduled(cron = "${ratings.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        rebuildAll();
+    }
+
+    /**
+     * Recomputes every spot's summary from the reviews table, one chunk of spots per transaction.
+     * Returns the number of summaries that had drifted and were corrected.
+     */
+    public int rebuildAll() {
+        int corrected = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = studySpotRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) break;
+            Integer fixed = transactionTemplate.execute(status -> rebuildChunk(ids));
+            corrected += fixed != null ? fixed : 0;
+            lastId = ids.get(ids.size() - 1);
+        }
+        if (corrected > 0) {
+            log.info("Rating summary reconcile corrected {} spot(s)", corrected);
+            // Ratings changed without a review event; cached spot lists are stale
+            eventPublisher.publishEvent(new SpotsRefreshedEvent("ratings"));
+        }
+        return corrected;
+    }
+
+    private int rebuildChunk(List<Long> spotIds) {
+        Map<Long, SpotRatingSummary> existing = summaryRepository.findAllForUpdate(spotIds).stream()
+                .collect(Collectors.toMap(SpotRatingSummary::getSpotId, Function.identity()));
+        Map<Long, int[]> before = new HashMap<>();
+        existing.forEach((id, summary) -> before.put(id, summary.getHistogram()));
+
+        Map<Long, SpotRatingSummary> computed = computeSummaries(spotIds, existing);
+
+        int corrected = 0;
+        for (SpotRatingSummary summary : computed.values()) {
+            if (!Arrays.equals(before.get(summary.getSpotId()), summary.getHistogram())) {
+                corrected++;
+            }
+        }
+        summaryRepository.saveAll(computed.values());
+        return corrected;
+    }
+
+    // Builds summaries from grouped review counts, reusing managed rows where present
+    private Map<Long, SpotRatingSummary> computeSummaries(List<Long> spotIds, Map<Long, SpotRatingSummary> existing) {
+        Map<Long, int[]> histograms = new HashMap<>();
+        for (Long id : spotIds) {
+            histograms.put(id, new int[5]);
+        }
+        for (SpotRatingCount row : reviewRepository.countRatingsBySpotIds(spotIds)) {
+            int rating = row.getRating();
+            if (rating >= 1 && rating <= 5) {
+                histograms.get(row.getSpotId())[rating - 1] = row.getReviewCount().intValue();
+            }
+        }
+
+        Map<Long, SpotRatingSummary> result = new HashMap<>();
+        histograms.forEach((id, counts) -> {
+            SpotRatingSummary summary = existing.getOrDefault(id, new SpotRatingSummary(id));
+            summary.setHistogram(counts);
+            result.put(id, summary);
+        });
+        return result;
+    }
+}
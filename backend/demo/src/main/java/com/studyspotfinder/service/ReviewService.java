@@ -0,0 +1,39 @@
+package com.studyspotfinder.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.studyspotfinder.event.ReviewSubmittedEvent;
+import com.studyspotfinder.model.Review;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.ReviewRepository;
+
+@Service
+public class ReviewService {
+
+    private final ReviewRepository reviewRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReviewService(ReviewRepository reviewRepository,
+                         RatingSummaryService ratingSummaryService,
+                         ApplicationEventPublisher eventPublisher) {
+        this.reviewRepository = reviewRepository;
+        this.ratingSummaryService = ratingSummaryService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Saves a review and folds it into the spot's rating summary in one transaction;
+     * listeners are notified once it commits.
+     */
+    @Transactional
+    public Review submitReview(User user, StudySpot spot, int rating, String comment) {
+        Review saved = reviewRepository.saveAndFlush(new Review(user, spot, rating, comment));
+        ratingSummaryService.recordReview(spot.getId(), rating);
+        eventPublisher.publishEvent(new ReviewSubmittedEvent(spot.getId(), rating));
+        return saved;
+    }
+}
@@ -0,0 +1,142 @@
+package com.studyspotfinder.service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.studyspotfinder.model.SpotRatingSummary;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.repository.SpotExportRow;
+import com.studyspotfinder.repository.StudySpotRepository;
+
+import jakarta.persistence.EntityManager;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Writes the whole spot catalog as NDJSON from a single forward-only query. Each row is
+ * written and then detached, so the persistence context never holds more than one spot and
+ * memory stays flat however large the catalog is. Output is flushed after the first row and
+ * then every {@value #FLUSH_EVERY} rows.
+ */
+@Service
+public class SpotExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final StudySpotRepository studySpotRepository;
+    private final FavoriteWriteBehind favoriteWriteBehind;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonMapper jsonMapper;
+
+    public SpotExportService(StudySpotRepository studySpotRepository,
+                             FavoriteWriteBehind favoriteWriteBehind,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             JsonMapper jsonMapper) {
+        this.studySpotRepository = studySpotRepository;
+        this.favoriteWriteBehind = favoriteWriteBehind;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+    }
+
+    /** Streams every spot to {@code out}, one JSON object per line; returns the number written. */
+    public long exportNdjson(OutputStream out) {
+        // Favorite counts are read from the table, so queued favorite flags go out first
+        favoriteWriteBehind.flush();
+        Long written = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<SpotExportRow> rows = studySpotRepository.streamForExport();
+                 SequenceWriter writer = jsonMapper.writer()
+                         .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                         .withRootValueSeparator("\n")
+                         .writeValues(new NonClosingOutputStream(out))) {
+                for (SpotExportRow row : (Iterable<SpotExportRow>) rows::iterator) {
+                    writer.write(ExportedSpot.of(row));
+                    entityManager.detach(row.getSpot());
+                    if (row.getSummary() != null) entityManager.detach(row.getSummary());
+                    if (++count == 1 || count % FLUSH_EVERY == 0) writer.flush();
+                }
+                if (count > 0) {
+                    writer.flush();
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+        return written != null ? written : 0;
+    }
+
+    /** One exported line: the spot's stored fields plus its rating summary and favorite count. */
+    public static class ExportedSpot {
+        public Long id;
+        public String name;
+        public String type;
+        public String address;
+        public String description;
+        public String note;
+        public Double latitude;
+        public Double longitude;
+        public String imageUrl;
+        public String hours;
+        @JsonRawValue
+        public String hoursByDay;
+        public Double rating;
+        public int reviewCount;
+        public int[] ratingHistogram;
+        public long favoriteCount;
+
+        static ExportedSpot of(SpotExportRow row) {
+            StudySpot s = row.getSpot();
+            SpotRatingSummary summary = row.getSummary();
+            ExportedSpot e = new ExportedSpot();
+            e.id = s.getId();
+            e.name = s.getName();
+            e.type = s.getType();
+            e.address = s.getAddress();
+            e.description = s.getDescription();
+            e.note = s.getNote();
+            e.latitude = s.getLatitude();
+            e.longitude = s.getLongitude();
+            e.imageUrl = s.getImageUrl();
+            // Pre-rendered columns: the hours collection itself is never loaded
+            e.hours = s.getHoursFormatted();
+            e.hoursByDay = s.getHoursJson();
+            e.rating = summary != null ? summary.getAverageRating() : null;
+            e.reviewCount = summary != null ? summary.getReviewCount() : 0;
+            e.ratingHistogram = summary != null ? summary.getHistogram() : new int[5];
+            e.favoriteCount = row.getFavoriteCount();
+            return e;
+        }
+    }
+
+    // The response stream belongs to the container; closing the writer must not close it
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
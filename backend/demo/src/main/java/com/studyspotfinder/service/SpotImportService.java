@@ -0,0 +1,328 @@
+package com.studyspotfinder.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyspotfinder.controller.StudySpotController.CreateSpotRequest;
+import com.studyspotfinder.event.SpotsImportedEvent;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.StudySpotHours;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Bulk spot import from NDJSON or CSV. Rows are parsed and validated one at a time with the
+ * same rules as {@code POST /api/spots}; valid rows are buffered into chunks, and each chunk is
+ * written with JDBC batch inserts (spots, hours, empty rating summaries) in its own transaction.
+ * Bad rows are reported by line and skipped. A chunk the database still refuses is retried row by
+ * row, so only the offending rows are lost.
+ * <p>
+ * Hibernate cannot batch inserts into IDENTITY tables, hence plain JDBC here; generated spot ids
+ * come back from the batch through getGeneratedKeys.
+ */
+@Service
+public class SpotImportService {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private static final Logger log = LoggerFactory.getLogger(SpotImportService.class);
+
+    private static final String INSERT_SPOT = "insert into study_spots "
+            + "(name, type, address, description, note, latitude, longitude, image_url, open_schedule, hours_formatted, hours_json) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_HOURS = "insert into study_spot_hours "
+            + "(spot_id, day_of_week, open_time, close_time) values (?, ?, ?, ?)";
+    // Empty rating summaries, so a new spot's first review is a plain increment
+    private static final String INSERT_SUMMARY = "insert ignore into spot_rating_summaries "
+            + "(spot_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5) "
+            + "values (?, 0, 0, 0, 0, 0, 0, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JsonMapper jsonMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public SpotImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher,
+                             JsonMapper jsonMapper,
+                             @Value("${spots.import.chunk-size:500}") int chunkSize,
+                             @Value("${spots.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.jsonMapper = jsonMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /** One JSON object per line, shaped like the body of {@code POST /api/spots}. Blank lines are skipped. */
+    public ImportResult importNdjson(InputStream in) throws IOException {
+        Batch batch = new Batch();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String text;
+        int line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) continue;
+            try {
+                batch.add(line, jsonMapper.readValue(text, CreateSpotRequest.class).toEntity());
+            } catch (JacksonException e) {
+                batch.reject(line, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                batch.reject(line, e.getMessage());
+            }
+        }
+        return batch.finish();
+    }
+
+    /**
+     * A header row naming the columns (name, address, type, description, note, latitude,
+     * longitude, imageUrl, hours in any order; name and address required), then one spot per
+     * record. {@code hours} holds {@code day=HH:mm-HH:mm} entries separated by semicolons,
+     * e.g. {@code 1=09:00-17:00;2=09:00-17:00}.
+     */
+    public ImportResult importCsv(InputStream in) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) throw new IllegalArgumentException("CSV input is empty");
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("address")) {
+            throw new IllegalArgumentException("CSV header must include name and address columns");
+        }
+
+        Batch batch = new Batch();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            try {
+                batch.add(reader.recordLine(), fromCsv(columns, record).toEntity());
+            } catch (IllegalArgumentException e) {
+                batch.reject(reader.recordLine(), e.getMessage());
+            }
+        }
+        return batch.finish();
+    }
+
+    private static CreateSpotRequest fromCsv(Map<String, Integer> columns, List<String> record) {
+        CreateSpotRequest request = new CreateSpotRequest();
+        request.name = column(columns, record, "name");
+        request.type = column(columns, record, "type");
+        request.address = column(columns, record, "address");
+        request.description = column(columns, record, "description");
+        request.note = column(columns, record, "note");
+        request.latitude = parseCoordinate(column(columns, record, "latitude"), "latitude");
+        request.longitude = parseCoordinate(column(columns, record, "longitude"), "longitude");
+        request.imageUrl = column(columns, record, "imageurl");
+
+        String hours = column(columns, record, "hours");
+        request.hours = new ArrayList<>();
+        if (hours != null) {
+            for (String entry : hours.split(";")) {
+                if (entry.isBlank()) continue;
+                int eq = entry.indexOf('=');
+                int dash = entry.indexOf('-', eq + 1);
+                if (eq < 0 || dash < 0) {
+                    throw new IllegalArgumentException("hours entries must look like 1=09:00-17:00");
+                }
+                CreateSpotRequest.HourEntry hourEntry = new CreateSpotRequest.HourEntry();
+                try {
+                    hourEntry.dayOfWeek = Integer.parseInt(entry.substring(0, eq).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("dayOfWeek must be between 0 (Sunday) and 6 (Saturday)");
+                }
+                hourEntry.openTime = entry.substring(eq + 1, dash).trim();
+                hourEntry.closeTime = entry.substring(dash + 1).trim();
+                request.hours.add(hourEntry);
+            }
+        }
+        return request;
+    }
+
+    // Empty cells read as absent
+    private static String column(Map<String, Integer> columns, List<String> record, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) return null;
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double parseCoordinate(String value, String name) {
+        if (value == null) return null;
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    // Writes one chunk in one transaction; listeners see the spots once it commits
+    private void writeChunk(List<StudySpot> spots) {
+        transactionTemplate.executeWithoutResult(status -> {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SPOT, new String[] { "spot_id" }),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            StudySpot spot = spots.get(i);
+                            ps.setString(1, spot.getName());
+                            ps.setString(2, spot.getType());
+                            ps.setString(3, spot.getAddress());
+                            ps.setString(4, spot.getDescription());
+                            ps.setString(5, spot.getNote());
+                            setDouble(ps, 6, spot.getLatitude());
+                            setDouble(ps, 7, spot.getLongitude());
+                            ps.setString(8, spot.getImageUrl());
+                            ps.setString(9, spot.getOpenSchedule().encode());
+                            ps.setString(10, spot.getHoursFormatted());
+                            ps.setString(11, spot.getHoursJson());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return spots.size();
+                        }
+                    }, keys);
+
+            List<Map<String, Object>> keyList = keys.getKeyList();
+            if (keyList.size() != spots.size()) {
+                throw new IllegalStateException("Expected " + spots.size() + " generated ids, got " + keyList.size());
+            }
+            List<StudySpotHours> hours = new ArrayList<>();
+            for (int i = 0; i < spots.size(); i++) {
+                StudySpot spot = spots.get(i);
+                spot.setId(((Number) keyList.get(i).values().iterator().next()).longValue());
+                hours.addAll(spot.getHours());
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_HOURS, hours, hours.size(), (ps, h) -> {
+                ps.setLong(1, h.getStudySpot().getId());
+                ps.setInt(2, h.getDayOfWeek());
+                ps.setObject(3, h.getOpenTime());
+                ps.setObject(4, h.getCloseTime());
+            });
+            jdbcTemplate.batchUpdate(INSERT_SUMMARY, spots, spots.size(), (ps, spot) -> ps.setLong(1, spot.getId()));
+            eventPublisher.publishEvent(new SpotsImportedEvent(spots));
+        });
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) ps.setNull(index, Types.DOUBLE);
+        else ps.setDouble(index, value);
+    }
+
+    /** Outcome of one import: row counts plus the first errors, each tied to its input line. */
+    public static class ImportResult {
+        private final int imported;
+        private final int failed;
+        private final List<RowError> errors;
+        private final boolean errorsTruncated;
+
+        ImportResult(int imported, int failed, List<RowError> errors, boolean errorsTruncated) {
+            this.imported = imported;
+            this.failed = failed;
+            this.errors = errors;
+            this.errorsTruncated = errorsTruncated;
+        }
+
+        public int getImported() { return imported; }
+        public int getFailed() { return failed; }
+        public List<RowError> getErrors() { return errors; }
+        public boolean isErrorsTruncated() { return errorsTruncated; }
+    }
+
+    public static class RowError {
+        private final int line;
+        private final String error;
+
+        RowError(int line, String error) {
+            this.line = line;
+            this.error = error;
+        }
+
+        public int getLine() { return line; }
+        public String getError() { return error; }
+    }
+
+    // Accumulates valid rows into chunks and keeps the tally
+    private class Batch {
+        private final List<StudySpot> pending = new ArrayList<>(chunkSize);
+        private final List<Integer> pendingLines = new ArrayList<>(chunkSize);
+        private final List<RowError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        // Spots come from CreateSpotRequest.toEntity(), which compiles their hours
+        void add(int line, StudySpot spot) {
+            pending.add(spot);
+            pendingLines.add(line);
+            if (pending.size() >= chunkSize) flush();
+        }
+
+        void reject(int line, String error) {
+            failed++;
+            if (errors.size() < maxReportedErrors) errors.add(new RowError(line, error));
+        }
+
+        private void writeOneByOne() {
+            for (int i = 0; i < pending.size(); i++) {
+                try {
+                    writeChunk(List.of(pending.get(i)));
+                    imported++;
+                } catch (RuntimeException e) {
+                    // The database's message stays in the log; it may expose schema details
+                    log.warn("Spot import row on line {} failed", pendingLines.get(i), e);
+                    reject(pendingLines.get(i), "Not imported: the row could not be saved");
+                }
+            }
+        }
+
+        ImportResult finish() {
+            flush();
+            return new ImportResult(imported, failed, errors, failed > errors.size());
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) return;
+            try {
+                writeChunk(pending);
+                imported += pending.size();
+            } catch (RuntimeException e) {
+                // The chunk rolled back as a whole: retry its rows one by one so only the bad ones fail
+                log.warn("Spot import chunk of {} row(s) failed, retrying row by row", pending.size(), e);
+                writeOneByOne();
+            }
+            pending.clear();
+            pendingLines.clear();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.studyspotfinder.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyspotfinder.event.FavoriteChangedEvent;
+import com.studyspotfinder.event.ReviewSubmittedEvent;
+import com.studyspotfinder.model.SpotPopularity;
+import com.studyspotfinder.model.SpotRatingSummary;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.SpotFavoriteCount;
+import com.studyspotfinder.repository.SpotPopularityRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per-spot popularity counters: favorites, reviews and detail views, plus a trending score.
+ * <p>
+ * Counts are kept in memory in {@link LongAdder}s, which stripe increments across cells, so
+ * concurrent views of one busy spot do not contend on a single counter; nothing touches the
+ * database on the request path. Trending is an exponentially decayed sum of activity (a view
+ * counts {@value #VIEW_WEIGHT}, a favorite {@value #FAVORITE_WEIGHT}, a review
+ * {@value #REVIEW_WEIGHT}) that halves every {@code spots.popularity.trending-half-life}.
+ * <p>
+ * A scheduled flush folds each changed spot's recent activity into its trending score and
+ * upserts the changed spots into {@code spot_popularity} in JDBC batches. On startup views and
+ * trending are read back from that table, while favorite and review counts are recounted from
+ * their own tables so they cannot drift.
+ */
+@Service
+public class SpotPopularityService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpotPopularityService.class);
+
+    static final int VIEW_WEIGHT = 1;
+    static final int FAVORITE_WEIGHT = 3;
+    static final int REVIEW_WEIGHT = 5;
+    // "popular": 2 per favorite plus 1 per review, the same ranking autocomplete uses
+    private static final int POPULAR_FAVORITE_WEIGHT = 2;
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private static final String UPSERT = "insert into spot_popularity "
+            + "(spot_id, favorite_count, review_count, view_count, trending_score, trending_at) values (?, ?, ?, ?, ?, ?) "
+            + "on duplicate key update favorite_count = values(favorite_count), review_count = values(review_count), "
+            + "view_count = values(view_count), trending_score = values(trending_score), trending_at = values(trending_at)";
+
+    private final SpotPopularityRepository popularityRepository;
+    private final FavoriteRepository favoriteRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double halfLifeMillis;
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    public SpotPopularityService(SpotPopularityRepository popularityRepository,
+                                 FavoriteRepository favoriteRepository,
+                                 RatingSummaryService ratingSummaryService,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${spots.popularity.trending-half-life:24h}") Duration halfLife) {
+        this.popularityRepository = popularityRepository;
+        this.favoriteRepository = favoriteRepository;
+        this.ratingSummaryService = ratingSummaryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.halfLifeMillis = halfLife.toMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2) // after the rating backfill, before autocomplete ranks by these counters
+    public void load() {
+        counters.clear();
+        for (SpotPopularity row : popularityRepository.findAll()) {
+            Counter c = counter(row.getSpotId());
+            c.views.add(row.getViewCount());
+            c.trend = new Trend(row.getTrendingScore(), row.getTrendingAt());
+        }
+        for (SpotFavoriteCount count : favoriteRepository.countBySpot()) {
+            counter(count.getSpotId()).favorites.add(count.getFavoriteCount());
+        }
+        for (SpotRatingSummary summary : ratingSummaryService.findAll().values()) {
+            counter(summary.getSpotId()).reviews.add(summary.getReviewCount());
+        }
+    }
+
+    public void recordView(long spotId) {
+        Counter c = counter(spotId);
+        c.views.increment();
+        c.recent.add(VIEW_WEIGHT);
+        c.dirty = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        Counter c = counter(event.getSpotId());
+        if (event.isFavorite()) {
+            c.favorites.increment();
+            c.recent.add(FAVORITE_WEIGHT);
+        } else {
+            c.favorites.decrement();
+        }
+        c.dirty = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        Counter c = counter(event.getSpotId());
+        c.reviews.increment();
+        c.recent.add(REVIEW_WEIGHT);
+        c.dirty = true;
+    }
+
+    public long favoriteCount(long spotId) {
+        Counter c = counters.get(spotId);
+        return c != null ? c.favorites.sum() : 0;
+    }
+
+    public long reviewCount(long spotId) {
+        Counter c = counters.get(spotId);
+        return c != null ? c.reviews.sum() : 0;
+    }
+
+    public long viewCount(long spotId) {
+        Counter c = counters.get(spotId);
+        return c != null ? c.views.sum() : 0;
+    }
+
+    /** All-time popularity: {@value #POPULAR_FAVORITE_WEIGHT} per favorite plus 1 per review. */
+    public long popularScore(long spotId) {
+        Counter c = counters.get(spotId);
+        return c != null ? POPULAR_FAVORITE_WEIGHT * c.favorites.sum() + c.reviews.sum() : 0;
+    }
+
+    /** Trending score decayed to {@code nowMillis}; activity since the last flush counts in full. */
+    public double trendingScore(long spotId, long nowMillis) {
+        Counter c = counters.get(spotId);
+        return c != null ? c.trend.decayedTo(nowMillis, halfLifeMillis) + c.recent.sum() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${spots.popularity.flush-interval:30s}",
+               initialDelayString = "${spots.popularity.flush-interval:30s}")
+    public void scheduledFlush() {
+        try {
+            flush(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // Unwritten spots stay dirty; the next flush retries them
+            log.warn("Popularity counter flush failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush(System.currentTimeMillis());
+    }
+
+    /**
+     * Folds recent activity into the trending scores of spots changed since the last flush and
+     * writes their counters. Returns the number of spots written.
+     */
+    public synchronized int flush(long nowMillis) {
+        List<Long> ids = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        counters.forEach((spotId, c) -> {
+            if (!c.dirty) return;
+            // Cleared before reading, so an increment racing with this flush is written by the next one
+            c.dirty = false;
+            c.trend = new Trend(c.trend.decayedTo(nowMillis, halfLifeMillis) + c.recent.sumThenReset(), nowMillis);
+            ids.add(spotId);
+            rows.add(new Object[] { spotId, c.favorites.sum(), c.reviews.sum(), c.views.sum(), c.trend.score, nowMillis });
+        });
+        for (int from = 0; from < rows.size(); from += FLUSH_BATCH_SIZE) {
+            int to = Math.min(from + FLUSH_BATCH_SIZE, rows.size());
+            List<Object[]> batch = rows.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT, batch));
+            } catch (RuntimeException e) {
+                ids.subList(from, rows.size()).forEach(id -> counters.get(id).dirty = true);
+                throw e;
+            }
+        }
+        return rows.size();
+    }
+
+    private Counter counter(long spotId) {
+        return counters.computeIfAbsent(spotId, id -> new Counter());
+    }
+
+    private static final class Counter {
+        final LongAdder favorites = new LongAdder();
+        final LongAdder reviews = new LongAdder();
+        final LongAdder views = new LongAdder();
+        // Weighted activity since the last flush, not yet in the trend
+        final LongAdder recent = new LongAdder();
+        volatile Trend trend = new Trend(0, 0);
+        volatile boolean dirty;
+    }
+
+    private static final class Trend {
+        final double score;
+        final long at;
+
+        Trend(double score, long at) {
+            this.score = score;
+            this.at = at;
+        }
+
+        double decayedTo(long nowMillis, double halfLifeMillis) {
+            if (score == 0 || nowMillis <= at) return score;
+            return score * Math.pow(0.5, (nowMillis - at) / halfLifeMillis);
+        }
+    }
+}
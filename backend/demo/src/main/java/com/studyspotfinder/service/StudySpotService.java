@@ -0,0 +1,217 @@
+package com.studyspotfinder.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyspotfinder.cache.SpotResponseCache;
+import com.studyspotfinder.controller.StudySpotController.StudySpotResponse;
+import com.studyspotfinder.event.SpotCreatedEvent;
+import com.studyspotfinder.index.SpotCatalog;
+import com.studyspotfinder.model.SpotRatingSummary;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.repository.SpotPage;
+import com.studyspotfinder.repository.SpotPageQuery;
+import com.studyspotfinder.repository.SpotPageRow;
+import com.studyspotfinder.repository.StudySpotRepository;
+
+@Service
+public class StudySpotService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudySpotService.class);
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+    // Rows read per query while filling a page through an id filter
+    private static final int MIN_FILTERED_BATCH = 100;
+
+    private final StudySpotRepository studySpotRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final SpotResponseCache spotResponseCache;
+    private final SpotCatalog spotCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spots.listing.max-pushed-ids:1000}")
+    private int maxPushedIds;
+
+    @Value("${spots.listing.max-filtered-batches:10}")
+    private int maxFilteredBatches;
+
+    public StudySpotService(StudySpotRepository studySpotRepository,
+                            RatingSummaryService ratingSummaryService,
+                            SpotResponseCache spotResponseCache,
+                            SpotCatalog spotCatalog,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager) {
+        this.studySpotRepository = studySpotRepository;
+        this.ratingSummaryService = ratingSummaryService;
+        this.spotResponseCache = spotResponseCache;
+        this.spotCatalog = spotCatalog;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Persists a new spot together with its hours (cascaded) in a single save, plus its empty
+     * rating summary, and notifies listeners once the transaction commits.
+     */
+    @Transactional
+    public StudySpot createSpot(StudySpot spot) {
+        spot.compileHours();
+        StudySpot saved = studySpotRepository.save(spot);
+        ratingSummaryService.createEmpty(saved.getId());
+        eventPublisher.publishEvent(new SpotCreatedEvent(saved));
+        return saved;
+    }
+
+    /**
+     * Every spot's response in id order: from the catalog snapshot when it is loaded, otherwise in
+     * two queries regardless of spot count (spots, whose hours are pre-rendered columns, then rating summaries).
+     */
+    public List<StudySpotResponse> findAllResponses(int nowMinuteOfWeek) {
+        if (spotCatalog.isReady()) return spotCatalog.all(nowMinuteOfWeek);
+        Map<Long, SpotRatingSummary> summaries = ratingSummaryService.findAll();
+        return studySpotRepository.findAll().stream()
+                .map(s -> StudySpotResponse.fromEntity(s, summaries.get(s.getId()), nowMinuteOfWeek))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Responses for {@code spotIds} in the given order, unknown ids left out. Served from the
+     * catalog snapshot; spots it does not hold yet (or all of them, when it is off) are loaded
+     * in two queries.
+     */
+    public Map<Long, StudySpotResponse> findResponses(List<Long> spotIds, int nowMinuteOfWeek) {
+        if (spotIds.isEmpty()) return Map.of();
+        Map<Long, StudySpotResponse> found = spotCatalog.getAll(spotIds, nowMinuteOfWeek);
+        if (found.size() == spotIds.size()) return found;
+
+        List<Long> missing = spotIds.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toList());
+        Map<Long, SpotRatingSummary> summaries = ratingSummaryService.findBySpotIds(missing);
+        for (StudySpot s : studySpotRepository.findAllById(missing)) {
+            found.put(s.getId(), StudySpotResponse.fromEntity(s, summaries.get(s.getId()), nowMinuteOfWeek));
+        }
+        Map<Long, StudySpotResponse> ordered = new LinkedHashMap<>(found.size() * 2);
+        for (Long id : spotIds) {
+            StudySpotResponse r = found.get(id);
+            if (r != null) ordered.put(id, r);
+        }
+        return ordered;
+    }
+
+    /**
+     * The spot's detail response from the catalog snapshot, else through the detail cache; null
+     * if there is no such spot.
+     */
+    public StudySpotResponse findDetail(Long spotId, int nowMinuteOfWeek) {
+        StudySpotResponse cataloged = spotCatalog.get(spotId, nowMinuteOfWeek);
+        if (cataloged != null) return cataloged;
+        return spotResponseCache.get(spotId, nowMinuteOfWeek, id -> studySpotRepository.findById(id)
+                .map(s -> {
+                    SpotRatingSummary summary = ratingSummaryService.findBySpotId(s.getId()).orElse(null);
+                    return SpotResponseCache.entry(StudySpotResponse.fromEntity(s, summary, nowMinuteOfWeek), s.getOpenSchedule());
+                })
+                .orElse(null));
+    }
+
+    /**
+     * Detail responses for {@code spotIds}: from the catalog snapshot, with the rest through the
+     * detail cache, whose misses are loaded together in two queries (spots, then rating
+     * summaries). Unknown ids are left out.
+     */
+    public Map<Long, StudySpotResponse> findDetails(List<Long> spotIds, int nowMinuteOfWeek) {
+        if (spotIds.isEmpty()) return Map.of();
+        Map<Long, StudySpotResponse> found = spotCatalog.getAll(spotIds, nowMinuteOfWeek);
+        if (found.size() == spotIds.size()) return found;
+        List<Long> missing = spotIds.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toList());
+        found.putAll(spotResponseCache.getAll(missing, nowMinuteOfWeek, rest -> {
+            List<Long> ids = List.copyOf(rest);
+            Map<Long, SpotRatingSummary> summaries = ratingSummaryService.findBySpotIds(ids);
+            Map<Long, SpotResponseCache.Entry> entries = new HashMap<>();
+            for (StudySpot s : studySpotRepository.findAllById(ids)) {
+                entries.put(s.getId(), SpotResponseCache.entry(
+                        StudySpotResponse.fromEntity(s, summaries.get(s.getId()), nowMinuteOfWeek), s.getOpenSchedule()));
+            }
+            return entries;
+        }));
+        return found;
+    }
+
+    /**
+     * One listing page of at most {@code query.getLimit()} rows. With {@code onlyIds} (ascending;
+     * e.g. the spots open now) other spots are left out: up to {@code spots.listing.max-pushed-ids}
+     * ids go into the query itself, a larger set is applied to keyset batches read one after
+     * another. That scan stops after {@code spots.listing.max-filtered-batches} batches even if
+     * the page is not full, and the next page resumes where it stopped, so a selective filter
+     * cannot make one request read most of the table. Moves the query's limit and keyset position.
+     */
+    public SpotPage findPage(SpotPageQuery query, long[] onlyIds) {
+        int limit = query.getLimit();
+        if (onlyIds != null && onlyIds.length == 0) return new SpotPage(List.of(), null);
+        // One look-ahead row tells whether another page follows
+        if (onlyIds == null || onlyIds.length <= maxPushedIds) {
+            if (onlyIds != null) query.setOnlyIds(Arrays.stream(onlyIds).boxed().collect(Collectors.toList()));
+            query.setLimit(limit + 1);
+            return toPage(studySpotRepository.findPage(query), limit);
+        }
+        List<SpotPageRow> page = new ArrayList<>(limit + 1);
+        int batch = Math.max(2 * (limit + 1), MIN_FILTERED_BATCH);
+        query.setLimit(batch);
+        for (int batches = 1; ; batches++) {
+            List<SpotPageRow> rows = studySpotRepository.findPage(query);
+            for (SpotPageRow row : rows) {
+                if (Arrays.binarySearch(onlyIds, row.getSpot().getId()) >= 0 && page.size() <= limit) page.add(row);
+            }
+            if (page.size() > limit || rows.size() < batch) break;
+            SpotPageRow last = rows.get(rows.size() - 1);
+            if (batches == maxFilteredBatches) {
+                // Every row up to the last one scanned has been looked at: continue after it
+                return new SpotPage(page, last);
+            }
+            query.setAfter(last.getSortKey(), last.getSpot().getId());
+        }
+        return toPage(page, limit);
+    }
+
+    private static SpotPage toPage(List<SpotPageRow> rows, int limit) {
+        if (rows.size() <= limit) return new SpotPage(rows, null);
+        List<SpotPageRow> page = rows.subList(0, limit);
+        return new SpotPage(page, page.get(limit - 1));
+    }
+
+    /**
+     * Compiles and stores the schedule and display strings of spots saved before those columns existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE) // before the indexes that read compiled schedules load
+    public void backfillCompiledHours() {
+        List<Long> ids = studySpotRepository.findIdsWithoutCompiledHours();
+        for (int from = 0; from < ids.size(); from += BACKFILL_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BACKFILL_CHUNK_SIZE, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                List<StudySpot> spots = studySpotRepository.findAllWithHoursByIdIn(chunk);
+                spots.forEach(StudySpot::compileHours);
+                studySpotRepository.saveAll(spots);
+            });
+        }
+        if (!ids.isEmpty()) {
+            log.info("Compiled opening hours for {} spot(s)", ids.size());
+        }
+    }
+}
@@ -2,22 +2,33 @@ package com.studyspotfinder.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import com.studyspotfinder.model.User;
 import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.security.PasswordHasher;
 
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    // Runs what follows a hash (JDBC included) so the bounded hashing pool only does BCrypt
+    private final Executor requestExecutor;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher,
+                       @Qualifier("applicationTaskExecutor") Executor requestExecutor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.requestExecutor = requestExecutor;
     }
 
     public List<User> getAllUsers() {
@@ -33,14 +44,36 @@ public class UserService {
     }
 
     /**
-     * Used by AuthController for proper registration with hashing.
+     * Used by AuthController for proper registration with hashing. The hash is made on the
+     * hashing pool and the user saved on the application task executor.
+     * Completes with HashingCapacityException when the hashing pool is saturated.
      */
-    public User registerUser(String username, String email, String rawPassword) {
-        User user = new User();
-        user.setUsername(username);
-        user.setEmail(email);
-        user.setPasswordHash(passwordEncoder.encode(rawPassword));
-        return userRepository.save(user);
+    public CompletableFuture<User> registerUser(String username, String email, String rawPassword) {
+        return passwordHasher.encode(rawPassword).thenApplyAsync(hash -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setEmail(email);
+            user.setPasswordHash(hash);
+            return userRepository.save(user);
+        }, requestExecutor);
+    }
+
+    /**
+     * Checks a password on the hashing pool. On success, a hash made with a different cost than
+     * configured is replaced in the background; if the pool is busy that waits for a later login.
+     */
+    public CompletableFuture<Boolean> checkPassword(User user, String rawPassword) {
+        return passwordHasher.matches(rawPassword, user.getPasswordHash()).thenApply(matched -> {
+            if (matched && passwordHasher.needsRehash(user.getPasswordHash())) {
+                passwordHasher.encode(rawPassword)
+                        .thenAcceptAsync(hash -> userRepository.updatePasswordHash(user.getId(), hash), requestExecutor)
+                        .exceptionally(ex -> {
+                            log.debug("Rehash for user {} deferred: {}", user.getId(), ex.getMessage());
+                            return null;
+                        });
+            }
+            return matched;
+        });
     }
 
     /**
@@ -0,0 +1,199 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.studyspotfinder.controller.FavoriteController;
+import com.studyspotfinder.controller.StudySpotController;
+import com.studyspotfinder.index.SpotCatalog;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.security.CurrentUserArgumentResolver;
+import com.studyspotfinder.security.JwtAuthenticationFilter;
+import com.studyspotfinder.security.JwtService;
+import com.studyspotfinder.service.FavoriteService;
+import com.studyspotfinder.service.RatingSummaryService;
+import com.studyspotfinder.service.ReviewService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ConditionalGetTests {
+
+    @Autowired
+    private StudySpotController studySpotController;
+
+    @Autowired
+    private FavoriteController favoriteController;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private SpotCatalog spotCatalog;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private CurrentUserArgumentResolver currentUserArgumentResolver;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mvc;
+    private StudySpot spot;
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        // Standalone setup: the JWT filter and @CurrentUser resolver without the rest of the security chain
+        mvc = MockMvcBuilders.standaloneSetup(studySpotController, favoriteController)
+                .setCustomArgumentResolvers(currentUserArgumentResolver)
+                .addFilters(jwtAuthenticationFilter)
+                .build();
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        spot = studySpotRepository.save(new StudySpot("Stacks", "4 Campus Dr", null));
+        user = userRepository.findByEmail("etag@example.com").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("etag");
+            u.setEmail("etag@example.com");
+            u.setPasswordHash("hash");
+            return userRepository.save(u);
+        });
+        bearer = "Bearer " + jwtService.generateToken(user);
+        // Spots were deleted and saved behind the catalog's back
+        spotCatalog.load();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void spotListAnswersMatchingEtagWithoutQueryingUntilAReviewArrives() throws Exception {
+        MockHttpServletResponse first = mvc.perform(get("/api/spots"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(first.getHeaders(HttpHeaders.ETAG)).hasSize(1);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mvc.perform(get("/api/spots").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        reviewService.submitReview(user, spot, 5, null);
+
+        String next = mvc.perform(get("/api/spots").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(next).isNotEqualTo(etag);
+    }
+
+    @Test
+    void spotListEtagChangesWhenAReconcileCorrectsRatings() throws Exception {
+        String etag = mvc.perform(get("/api/spots")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Saved around the service, the spot has no summary row for the reconcile to find
+        assertThat(ratingSummaryService.rebuildAll()).isPositive();
+
+        mvc.perform(get("/api/spots").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void openNowListingHasItsOwnEtag() throws Exception {
+        String all = mvc.perform(get("/api/spots")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String open = mvc.perform(get("/api/spots").param("openNow", "true"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(open).isNotEqualTo(all);
+    }
+
+    @Test
+    void favoritesEtagChangesWhenAFavoriteIsToggled() throws Exception {
+        String etag = mvc.perform(get("/api/favorites").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/api/favorites").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        favoriteService.setFavorite(user.getId(), spot.getId(), true);
+
+        mvc.perform(get("/api/favorites").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void spotListWithFavoriteFlagsIsRevalidatedWhenAFavoriteIsToggled() throws Exception {
+        String plain = mvc.perform(get("/api/spots").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String etag = mvc.perform(get("/api/spots").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .param("includeFavorite", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].isFavorite").value(false))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotEqualTo(plain);
+
+        favoriteService.setFavorite(user.getId(), spot.getId(), true);
+
+        mvc.perform(get("/api/spots").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .param("includeFavorite", "true")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].isFavorite").value(true));
+        // Flags for one user never change the shared listing's tag
+        assertThat(mvc.perform(get("/api/spots").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(plain);
+    }
+}
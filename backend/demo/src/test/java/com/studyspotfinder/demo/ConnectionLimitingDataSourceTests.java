@@ -0,0 +1,34 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.studyspotfinder.jdbc.ConnectionLimitingDataSource;
+
+class ConnectionLimitingDataSourceTests {
+
+    @Test
+    void checkoutsBeyondThePermitsWaitThenFail() throws Exception {
+        DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:permits;DB_CLOSE_DELAY=-1", "sa", "");
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, 50);
+
+        Connection first = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close(); // a second close must not hand out an extra permit
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+
+        try (Connection second = dataSource.getConnection()) {
+            assertThat(second.isValid(1)).isTrue();
+        }
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,143 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.studyspotfinder.controller.FavoriteController;
+import com.studyspotfinder.controller.ReviewController;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.security.CurrentUserArgumentResolver;
+import com.studyspotfinder.security.JwtAuthenticationFilter;
+import com.studyspotfinder.security.JwtService;
+import com.studyspotfinder.service.FavoriteWriteBehind;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CurrentUserTests {
+
+    @Autowired
+    private FavoriteController favoriteController;
+
+    @Autowired
+    private ReviewController reviewController;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private CurrentUserArgumentResolver currentUserArgumentResolver;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private FavoriteWriteBehind favoriteWriteBehind;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mvc;
+    private StudySpot spot;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(favoriteController, reviewController)
+                .setCustomArgumentResolvers(currentUserArgumentResolver)
+                .addFilters(jwtAuthenticationFilter)
+                .build();
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        spot = studySpotRepository.save(new StudySpot("Commons", "5 Campus Dr", null));
+        user = userRepository.findByEmail("principal@example.com").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("principal");
+            u.setEmail("principal@example.com");
+            u.setPasswordHash("hash");
+            return userRepository.save(u);
+        });
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void favoriteAndReviewWritesNeverLoadTheUser() throws Exception {
+        String bearer = "Bearer " + jwtService.generateToken(user);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mvc.perform(post("/api/favorites").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"spotId\":" + spot.getId() + ",\"favorite\":true}"))
+                .andExpect(status().isOk());
+        mvc.perform(post("/api/spots/" + spot.getId() + "/reviews").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\":4}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.username").value("principal"));
+
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+        favoriteWriteBehind.flush();
+        assertThat(favoriteRepository.findByUserIdAndStudySpotId(user.getId(), spot.getId())).isPresent();
+    }
+
+    @Test
+    void tokensWithoutIdentityClaimsResolveThroughTheIdentityCache() throws Exception {
+        String bearer = "Bearer " + jwtService.generateToken(user.getEmail());
+
+        mvc.perform(get("/api/favorites").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+        SecurityContextHolder.clearContext();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mvc.perform(post("/api/favorites").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"spotId\":" + spot.getId() + ",\"favorite\":true}"))
+                .andExpect(status().isOk());
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void missingTokenIsUnauthorized() throws Exception {
+        mvc.perform(get("/api/favorites")).andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,189 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.studyspotfinder.cache.UserFavoritesCache;
+import com.studyspotfinder.controller.FavoriteController;
+import com.studyspotfinder.model.Favorite;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.security.CurrentUserArgumentResolver;
+import com.studyspotfinder.security.JwtAuthenticationFilter;
+import com.studyspotfinder.security.JwtService;
+import com.studyspotfinder.service.FavoriteService;
+import com.studyspotfinder.service.FavoriteWriteBehind;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// The scheduled flush is pushed out of the way so each test decides when the queue is written
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "favorites.write-behind.flush-interval=1h"
+})
+class FavoriteWriteBehindTests {
+
+    @Autowired
+    private FavoriteController favoriteController;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private FavoriteWriteBehind favoriteWriteBehind;
+
+    @Autowired
+    private UserFavoritesCache userFavoritesCache;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private CurrentUserArgumentResolver currentUserArgumentResolver;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mvc;
+    private StudySpot first;
+    private StudySpot second;
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(favoriteController)
+                .setCustomArgumentResolvers(currentUserArgumentResolver)
+                .addFilters(jwtAuthenticationFilter)
+                .build();
+        favoriteWriteBehind.flush();
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        first = studySpotRepository.save(new StudySpot("Annex", "6 Campus Dr", null));
+        second = studySpotRepository.save(new StudySpot("Atrium", "7 Campus Dr", null));
+        user = userRepository.findByEmail("hearts@example.com").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("hearts");
+            u.setEmail("hearts@example.com");
+            u.setPasswordHash("hash");
+            return userRepository.save(u);
+        });
+        userFavoritesCache.nativeCache().invalidateAll();
+        bearer = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void togglesAreCoalescedIntoOneWritePerSpot() throws Exception {
+        for (boolean favorite : new boolean[] { true, false, true }) {
+            mvc.perform(post("/api/favorites").header(HttpHeaders.AUTHORIZATION, bearer)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"spotId\":" + first.getId() + ",\"favorite\":" + favorite + "}"))
+                    .andExpect(status().isOk());
+        }
+        favoriteService.setFavorite(user.getId(), second.getId(), true);
+        favoriteService.setFavorite(user.getId(), second.getId(), false);
+
+        // Visible to the user at once, not yet in the table
+        assertThat(favoriteService.favoriteSpotIds(user.getId())).containsExactly(first.getId());
+        assertThat(favoriteRepository.count()).isZero();
+
+        assertThat(favoriteWriteBehind.flush()).isEqualTo(2);
+        assertThat(favoriteRepository.findByUserIdAndStudySpotId(user.getId(), first.getId())).isPresent();
+        assertThat(favoriteRepository.findByUserIdAndStudySpotId(user.getId(), second.getId())).isEmpty();
+        assertThat(favoriteWriteBehind.pendingCount()).isZero();
+
+        favoriteService.setFavorite(user.getId(), first.getId(), false);
+        favoriteWriteBehind.flush();
+        assertThat(favoriteRepository.count()).isZero();
+    }
+
+    @Test
+    void evictedSetsReloadWithQueuedFlags() {
+        favoriteRepository.save(new Favorite(user, first));
+        favoriteService.setFavorite(user.getId(), first.getId(), false);
+        favoriteService.setFavorite(user.getId(), second.getId(), true);
+
+        userFavoritesCache.nativeCache().invalidateAll();
+
+        assertThat(favoriteService.favoriteSpotIds(user.getId())).containsExactly(second.getId());
+    }
+
+    @Test
+    void myFavoritesComeFromCachesOnceWarm() throws Exception {
+        favoriteService.setFavorite(user.getId(), first.getId(), true);
+        favoriteService.setFavorite(user.getId(), second.getId(), true);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mvc.perform(get("/api/favorites").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Annex"))
+                .andExpect(jsonPath("$[1].name").value("Atrium"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void unknownSpotIsNotFoundAndQueuesNothing() throws Exception {
+        mvc.perform(post("/api/favorites").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"spotId\":" + (second.getId() + 1000) + ",\"favorite\":true}"))
+                .andExpect(status().isNotFound());
+        assertThat(favoriteWriteBehind.pendingCount()).isZero();
+    }
+
+    @Test
+    void flushIsIdempotentAndDropsRowsTheDatabaseRejects() {
+        favoriteRepository.save(new Favorite(user, first));
+        favoriteWriteBehind.enqueue(user.getId(), first.getId(), true);
+        favoriteWriteBehind.enqueue(user.getId(), second.getId(), true);
+        // A spot deleted after it was favorited
+        favoriteWriteBehind.enqueue(user.getId(), second.getId() + 1000, true);
+
+        favoriteWriteBehind.flush();
+
+        assertThat(favoriteWriteBehind.pendingCount()).isZero();
+        assertThat(favoriteRepository.count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,49 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.studyspotfinder.jdbc.JdbcMetricsDataSource;
+import com.studyspotfinder.jdbc.JdbcStatementRecorder;
+import com.studyspotfinder.metrics.JdbcRequestStats;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JdbcMetricsDataSourceTests {
+
+    @Test
+    void statementsAreTimedAndAttributedToTheCurrentRequest() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Zero threshold: every statement counts as slow
+        JdbcStatementRecorder recorder = new JdbcStatementRecorder(registry, 0, 0.0);
+        DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:jdbcmetrics;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcMetricsDataSource dataSource = new JdbcMetricsDataSource(target, () -> recorder);
+
+        JdbcRequestStats.begin();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists t (id int)");
+            try (PreparedStatement insert = connection.prepareStatement("insert into t values (?)")) {
+                insert.setInt(1, 1);
+                insert.executeUpdate();
+            }
+            assertThatThrownBy(() -> statement.executeQuery("select * from missing_table"))
+                    .isInstanceOf(SQLException.class);
+        }
+        JdbcRequestStats stats = JdbcRequestStats.end();
+
+        assertThat(stats.getStatements()).isEqualTo(3);
+        assertThat(stats.getNanos()).isPositive();
+        assertThat(registry.get("jdbc.statements").tag("outcome", "success").timer().count()).isEqualTo(2);
+        assertThat(registry.get("jdbc.statements").tag("outcome", "error").timer().count()).isEqualTo(1);
+        assertThat(registry.get("jdbc.statements.slow").counter().count()).isEqualTo(3);
+    }
+}
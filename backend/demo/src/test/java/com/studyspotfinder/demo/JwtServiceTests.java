@@ -0,0 +1,39 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.studyspotfinder.security.JwtService;
+
+class JwtServiceTests {
+
+    private static final String SECRET = "test-secret-that-is-at-least-32-characters-long";
+
+    @Test
+    void verifiesOnceAndServesRepeatsFromCache() {
+        JwtService jwtService = new JwtService(SECRET, 24, 100);
+        String token = jwtService.generateToken("jane@example.com");
+
+        assertThat(jwtService.verify(token)).get().extracting(v -> v.getSubject()).isEqualTo("jane@example.com");
+        assertThat(jwtService.verify(token)).isPresent();
+
+        assertThat(jwtService.verifiedCacheStats().missCount()).isEqualTo(1);
+        assertThat(jwtService.verifiedCacheStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsTamperedForeignAndExpiredTokens() {
+        JwtService jwtService = new JwtService(SECRET, 24, 100);
+        String token = jwtService.generateToken("jane@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String foreign = new JwtService("another-secret-that-is-at-least-32-characters", 24, 100)
+                .generateToken("jane@example.com");
+        String expired = new JwtService(SECRET, -1, 100).generateToken("jane@example.com");
+
+        assertThat(jwtService.verify(tampered)).isEmpty();
+        assertThat(jwtService.verify(foreign)).isEmpty();
+        assertThat(jwtService.verify(expired)).isEmpty();
+        assertThat(jwtService.verify("not-a-jwt")).isEmpty();
+    }
+}
@@ -0,0 +1,50 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.studyspotfinder.controller.AuthController;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.UserRepository;
+
+@SpringBootTest
+class LoginRehashTests {
+
+    @Autowired
+    private AuthController authController;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void loginUpgradesHashMadeWithAnotherCost() throws Exception {
+        User user = userRepository.findByEmail("rehash@example.com").orElseGet(User::new);
+        user.setUsername("rehash");
+        user.setEmail("rehash@example.com");
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode("secret123"));
+        user = userRepository.save(user);
+
+        AuthController.LoginRequest request = new AuthController.LoginRequest();
+        request.setEmail("rehash@example.com");
+        request.setPassword("secret123");
+        assertThat(authController.login(request).get(5, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(200);
+
+        // The upgrade is written in the background
+        String hash = user.getPasswordHash();
+        for (int i = 0; i < 100 && hash.startsWith("$2a$04$"); i++) {
+            Thread.sleep(50);
+            hash = userRepository.findById(user.getId()).orElseThrow().getPasswordHash();
+        }
+        assertThat(hash).startsWith("$2a$10$");
+        assertThat(new BCryptPasswordEncoder().matches("secret123", hash)).isTrue();
+
+        request.setPassword("wrong");
+        assertThat(authController.login(request).get(5, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(401);
+    }
+}
@@ -0,0 +1,85 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.studyspotfinder.index.OpenHoursIndex;
+import com.studyspotfinder.model.StudySpotHours;
+import com.studyspotfinder.model.WeeklySchedule;
+
+class OpenHoursIndexTests {
+
+    private static final int DAY = WeeklySchedule.MINUTES_PER_DAY;
+
+    private OpenHoursIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OpenHoursIndex(null);
+        // 1: weekday library, 9-17 Monday..Friday
+        index.put(1, WeeklySchedule.compile(List.of(
+                hours(1, "09:00", "17:00"), hours(2, "09:00", "17:00"), hours(3, "09:00", "17:00"),
+                hours(4, "09:00", "17:00"), hours(5, "09:00", "17:00"))));
+        // 2: late-night cafe, 18:00-02:00 every day
+        index.put(2, WeeklySchedule.compile(List.of(
+                hours(0, "18:00", "02:00"), hours(1, "18:00", "02:00"), hours(2, "18:00", "02:00"),
+                hours(3, "18:00", "02:00"), hours(4, "18:00", "02:00"), hours(5, "18:00", "02:00"),
+                hours(6, "18:00", "02:00"))));
+        // 3: open around the clock (each day's row runs to the following midnight)
+        List<StudySpotHours> allDay = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            allDay.add(hours(day, "00:00", "23:59"));
+            allDay.add(hours(day, "23:59", "00:00"));
+        }
+        index.put(3, WeeklySchedule.compile(allDay));
+        // 4: no hours at all
+        index.put(4, WeeklySchedule.EMPTY);
+    }
+
+    @Test
+    void openAtMatchesPointInTime() {
+        assertThat(index.openAt(DAY + 10 * 60, 0)).containsExactly(1, 3);
+        assertThat(index.openAt(DAY + 23 * 60, 0)).containsExactly(2, 3);
+        assertThat(index.openAt(2 * DAY + 60, 0)).containsExactly(2, 3);
+    }
+
+    @Test
+    void minMinutesRequiresRemainingOpenTime() {
+        // Monday 15:30: the library closes in 90 minutes
+        assertThat(index.openAt(DAY + 15 * 60 + 30, 90)).containsExactly(1, 3);
+        assertThat(index.openAt(DAY + 15 * 60 + 30, 91)).containsExactly(3);
+    }
+
+    @Test
+    void remainingTimeContinuesAcrossWeekBoundary() {
+        // Saturday 23:00: the cafe stays open until Sunday 02:00 (180 minutes)
+        assertThat(index.openAt(6 * DAY + 23 * 60, 180)).containsExactly(2, 3);
+        assertThat(index.openAt(6 * DAY + 23 * 60, 181)).containsExactly(3);
+        // Around-the-clock spot is open for a full week from any point
+        assertThat(index.openAt(6 * DAY + 23 * 60, WeeklySchedule.MINUTES_PER_WEEK)).containsExactly(3);
+    }
+
+    @Test
+    void laterPutsAreSeenWhetherOrNotTheyTriggerARebuild() {
+        WeeklySchedule mornings = WeeklySchedule.compile(List.of(hours(1, "06:00", "08:00")));
+        // Enough new spots to fold the recent tree into the main one more than once
+        for (long id = 10; id < 1010; id++) index.put(id, mornings);
+        // Replacing a spot already in the main tree
+        index.put(1, WeeklySchedule.EMPTY);
+
+        long[] open = index.openAt(DAY + 7 * 60, 0);
+        assertThat(open).hasSize(1001).startsWith(3, 10).endsWith(1009);
+        assertThat(index.openAt(DAY + 10 * 60, 0)).containsExactly(3);
+        assertThat(index.size()).isEqualTo(1004);
+    }
+
+    private static StudySpotHours hours(int day, String open, String close) {
+        return new StudySpotHours(null, day, LocalTime.parse(open), LocalTime.parse(close));
+    }
+}
@@ -0,0 +1,82 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.studyspotfinder.security.HashingCapacityException;
+import com.studyspotfinder.security.PasswordHasher;
+
+class PasswordHasherTests {
+
+    @Test
+    void saturatedPoolRejectsImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordHasher hasher = new PasswordHasher(blockingEncoder(release), 10, 1, 1);
+        try {
+            CompletableFuture<String> running = hasher.encode("a");
+            // Wait until the single worker has taken the first task, so the next one queues
+            while (hasher.activeCount() == 0) Thread.onSpinWait();
+            CompletableFuture<String> queued = hasher.encode("b");
+            CompletableFuture<String> refused = hasher.encode("c");
+
+            assertThat(refused).isCompletedExceptionally();
+            assertThat(hasher.rejectedCount()).isEqualTo(1);
+            assertThat(hasher.queueDepth()).isEqualTo(1);
+            try {
+                refused.get();
+            } catch (ExecutionException ex) {
+                assertThat(ex.getCause()).isInstanceOf(HashingCapacityException.class);
+            }
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+            assertThat(hasher.hashCount()).isEqualTo(2);
+        } finally {
+            release.countDown();
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void flagsHashesWithADifferentCost() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), 5, 1, 4);
+        try {
+            String current = hasher.encode("secret").get();
+
+            assertThat(hasher.matches("secret", current).get()).isTrue();
+            assertThat(hasher.needsRehash(current)).isFalse();
+            assertThat(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+            assertThat(hasher.needsRehash("hashedpassword123")).isFalse();
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
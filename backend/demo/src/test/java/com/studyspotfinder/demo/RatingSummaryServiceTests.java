@@ -0,0 +1,107 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.studyspotfinder.model.Review;
+import com.studyspotfinder.model.SpotRatingSummary;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.SpotRatingSummaryRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.service.RatingSummaryService;
+import com.studyspotfinder.service.ReviewService;
+import com.studyspotfinder.service.StudySpotService;
+
+@SpringBootTest
+class RatingSummaryServiceTests {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private StudySpotService studySpotService;
+
+    @Autowired
+    private SpotRatingSummaryRepository summaryRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private StudySpot spot;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        summaryRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        user = userRepository.findByEmail("summary@example.com").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("summary");
+            u.setEmail("summary@example.com");
+            u.setPasswordHash("hash");
+            return userRepository.save(u);
+        });
+        spot = studySpotRepository.save(new StudySpot("Library", "1 Campus Dr", null));
+    }
+
+    @Test
+    void submitReviewMaintainsSummary() {
+        reviewService.submitReview(user, spot, 5, "great");
+        reviewService.submitReview(user, spot, 3, null);
+        reviewService.submitReview(user, spot, 5, null);
+
+        SpotRatingSummary summary = ratingSummaryService.findBySpotId(spot.getId()).orElseThrow();
+        assertThat(summary.getReviewCount()).isEqualTo(3);
+        assertThat(summary.getRatingSum()).isEqualTo(13);
+        assertThat(summary.getHistogram()).containsExactly(0, 0, 1, 0, 2);
+    }
+
+    @Test
+    void rebuildCorrectsDriftedSummaries() {
+        reviewService.submitReview(user, spot, 4, null);
+        // A review written behind the service's back leaves the summary stale
+        reviewRepository.save(new Review(user, spot, 2, null));
+
+        assertThat(ratingSummaryService.rebuildAll()).isEqualTo(1);
+
+        SpotRatingSummary summary = ratingSummaryService.findBySpotId(spot.getId()).orElseThrow();
+        assertThat(summary.getReviewCount()).isEqualTo(2);
+        assertThat(summary.getAverageRating()).isEqualTo(3.0);
+        assertThat(ratingSummaryService.rebuildAll()).isZero();
+    }
+
+    @Test
+    void newSpotsStartWithAnEmptySummary() {
+        StudySpot created = studySpotService.createSpot(new StudySpot("Annex", "2 Campus Dr", null));
+
+        SpotRatingSummary empty = ratingSummaryService.findBySpotId(created.getId()).orElseThrow();
+        assertThat(empty.getReviewCount()).isZero();
+        assertThat(empty.getAverageRating()).isNull();
+
+        reviewService.submitReview(user, created, 4, null);
+        assertThat(ratingSummaryService.findBySpotId(created.getId()).orElseThrow().getHistogram())
+                .containsExactly(0, 0, 0, 1, 0);
+    }
+}
@@ -0,0 +1,108 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+
+import com.studyspotfinder.controller.ReviewController;
+import com.studyspotfinder.controller.ReviewController.ReviewResponse;
+import com.studyspotfinder.model.Review;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReviewPaginationTests {
+
+    @Autowired
+    private ReviewController reviewController;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StudySpot spot;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        spot = studySpotRepository.save(new StudySpot("Cafe", "2 Campus Dr", null));
+
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            User author = new User();
+            author.setUsername("pager" + i + "-" + System.nanoTime());
+            author.setEmail(author.getUsername() + "@example.com");
+            author.setPasswordHash("hash");
+            reviews.add(new Review(userRepository.save(author), spot, 1 + i % 5, "review " + i));
+        }
+        reviewRepository.saveAll(reviews);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void walksAllReviewsNewestFirstWithOneQueryPerPage() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<ReviewResponse> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            ResponseEntity<?> response = reviewController.listReviews(spot.getId(), cursor, 10);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+            seen.addAll((List<ReviewResponse>) response.getBody());
+            cursor = response.getHeaders().getFirst(ReviewController.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(25);
+        assertThat(seen).extracting(ReviewResponse::getId).doesNotHaveDuplicates();
+        assertThat(seen).allSatisfy(r -> assertThat(r.getUser().getUsername()).startsWith("pager"));
+        List<Long> ids = seen.stream().map(ReviewResponse::getId).toList();
+        assertThat(ids).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void withoutLimitOrCursorReturnsEveryReview() {
+        ResponseEntity<?> response = reviewController.listReviews(spot.getId(), null, null);
+
+        assertThat((List<ReviewResponse>) response.getBody()).hasSize(25);
+        assertThat(response.getHeaders().getFirst(ReviewController.NEXT_CURSOR_HEADER)).isNull();
+    }
+
+    @Test
+    void rejectsBadCursorAndUnknownSpot() {
+        assertThat(reviewController.listReviews(spot.getId(), "not-a-cursor", 10).getStatusCode().value()).isEqualTo(400);
+        assertThat(reviewController.listReviews(-1L, null, 10).getStatusCode().value()).isEqualTo(404);
+    }
+}
@@ -0,0 +1,79 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.studyspotfinder.index.SpotAutocompleteIndex;
+import com.studyspotfinder.index.SpotSuggestion;
+import com.studyspotfinder.index.TextNormalizer;
+
+class SpotAutocompleteIndexTests {
+
+    private final SpotAutocompleteIndex index = new SpotAutocompleteIndex(null, null, Duration.ofMinutes(5));
+
+    @Test
+    void matchesWordStartsAndTypesByPopularity() {
+        index.replace(List.of(
+                new SpotSuggestion(1, "Doheny Memorial Library", "Library"),
+                new SpotSuggestion(2, "Leavey Library", "Library"),
+                new SpotSuggestion(3, "Café Dulce", "Cafe"),
+                new SpotSuggestion(4, "Libra Lounge", "Lounge")),
+                Map.of(1L, 10L, 2L, 30L, 4L, 5L));
+
+        assertThat(ids(index.suggest("lib", 10))).containsExactly(2L, 1L, 4L);
+        assertThat(ids(index.suggest("Memorial L", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("CAFÉ", 10))).containsExactly(3L);
+        assertThat(ids(index.suggest("lib", 1))).containsExactly(2L);
+        assertThat(index.suggest("xyz", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void agreesWithBruteForceOnRandomNames() {
+        Random random = new Random(11);
+        String[] words = { "north", "south", "library", "lab", "lounge", "cafe", "commons", "court", "hall", "house" };
+        List<SpotSuggestion> spots = new ArrayList<>();
+        Map<Long, Long> popularity = new HashMap<>();
+        for (long id = 1; id <= 5000; id++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + id;
+            spots.add(new SpotSuggestion(id, name, words[random.nextInt(words.length)]));
+            popularity.put(id, (long) random.nextInt(50));
+        }
+        index.replace(spots, popularity);
+
+        for (String prefix : new String[] { "l", "la", "lo", "co", "court h", "hall", "ca", "12" }) {
+            List<Long> expected = spots.stream()
+                    .filter(s -> matches(s, prefix))
+                    .sorted(Comparator.<SpotSuggestion>comparingLong(s -> -popularity.get(s.getId()))
+                            .thenComparingInt(s -> s.getName().length())
+                            .thenComparingLong(SpotSuggestion::getId))
+                    .limit(10)
+                    .map(SpotSuggestion::getId)
+                    .toList();
+            assertThat(ids(index.suggest(prefix, 10))).as(prefix).isEqualTo(expected);
+        }
+    }
+
+    private static boolean matches(SpotSuggestion s, String prefix) {
+        String p = TextNormalizer.fold(prefix);
+        if (TextNormalizer.fold(s.getType()).startsWith(p)) return true;
+        String name = TextNormalizer.fold(s.getName());
+        for (int c = 0; c < name.length(); c++) {
+            if ((c == 0 || name.charAt(c - 1) == ' ') && name.startsWith(p, c)) return true;
+        }
+        return false;
+    }
+
+    private static List<Long> ids(List<SpotSuggestion> suggestions) {
+        return suggestions.stream().map(SpotSuggestion::getId).toList();
+    }
+}
@@ -0,0 +1,189 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.studyspotfinder.controller.StudySpotController;
+import com.studyspotfinder.controller.StudySpotController.StudySpotResponse;
+import com.studyspotfinder.index.SpotCatalog;
+import com.studyspotfinder.index.SpotGeoIndex;
+import com.studyspotfinder.model.Review;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.StudySpotHours;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.model.WeeklySchedule;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.service.RatingSummaryService;
+import com.studyspotfinder.service.ReviewService;
+import com.studyspotfinder.service.StudySpotService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spots.catalog.enabled=true",
+        "spots.catalog.refresh-interval=1h"
+})
+class SpotCatalogTests {
+
+    @Autowired
+    private StudySpotController studySpotController;
+
+    @Autowired
+    private SpotCatalog spotCatalog;
+
+    @Autowired
+    private SpotGeoIndex spotGeoIndex;
+
+    @Autowired
+    private StudySpotService studySpotService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mvc;
+    private User user;
+    private StudySpot library;
+    private StudySpot cafe;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(studySpotController).build();
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        user = userRepository.findByEmail("catalog@example.com").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("catalog");
+            u.setEmail("catalog@example.com");
+            u.setPasswordHash("hash");
+            return userRepository.save(u);
+        });
+        library = spot("Doheny Library", 34.0203, -118.2837);
+        cafe = spot("Campus Cafe", 34.0210, -118.2850);
+        reviewService.submitReview(user, library, 4, null);
+        // Spots of earlier tests were deleted behind the indexes' backs
+        spotGeoIndex.load();
+        spotCatalog.load();
+    }
+
+    @Test
+    void readEndpointsAreServedWithoutQueries() throws Exception {
+        // Searched for by a word no deleted spot still in the search index carries
+        StudySpot garden = spot("Marigold Reading Garden", null, null);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mvc.perform(get("/api/spots"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].name").value("Doheny Library"))
+                .andExpect(jsonPath("$[0].rating").value(4.0))
+                .andExpect(jsonPath("$[0].hours").value("monday: 9am-5pm"));
+        mvc.perform(get("/api/spots/" + cafe.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Campus Cafe"))
+                .andExpect(jsonPath("$.reviewCount").value(0));
+        mvc.perform(get("/api/spots/nearby").param("lat", "34.0210").param("lng", "-118.2850"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Campus Cafe"));
+        mvc.perform(get("/api/spots/search").param("q", "marigold"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(garden.getId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void writesAreMergedIntoANewSnapshot() {
+        int now = WeeklySchedule.currentMinuteOfWeek();
+        StudySpotResponse before = spotCatalog.get(library.getId(), now);
+
+        reviewService.submitReview(user, library, 5, null);
+        StudySpot annex = spot("Annex", null, null);
+
+        StudySpotResponse after = spotCatalog.get(library.getId(), now);
+        assertThat(after.rating).isEqualTo(4.5);
+        assertThat(after.ratingHistogram).containsExactly(0, 0, 0, 1, 1);
+        // A response read earlier is never changed underneath its reader
+        assertThat(before.rating).isEqualTo(4.0);
+        assertThat(before.reviewCount).isEqualTo(1);
+
+        assertThat(spotCatalog.size()).isEqualTo(3);
+        assertThat(spotCatalog.get(annex.getId(), now).name).isEqualTo("Annex");
+        assertThat(spotCatalog.all(now)).extracting(r -> r.id)
+                .containsExactly(library.getId(), cafe.getId(), annex.getId());
+    }
+
+    @Test
+    void aRatingReconcileReloadsTheSnapshot() {
+        // A review written behind the service's back is only counted by the reconcile
+        reviewRepository.save(new Review(user, library, 2, null));
+        ratingSummaryService.rebuildAll();
+
+        StudySpotResponse reconciled = spotCatalog.get(library.getId(), WeeklySchedule.currentMinuteOfWeek());
+        assertThat(reconciled.reviewCount).isEqualTo(2);
+        assertThat(reconciled.rating).isEqualTo(3.0);
+        assertThat(reconciled.ratingHistogram).containsExactly(0, 1, 0, 1, 0);
+    }
+
+    @Test
+    void spotsMissingFromTheSnapshotFallBackToTheDatabase() {
+        // Written around the service, as another instance would
+        StudySpot outside = studySpotRepository.save(new StudySpot("Outside", "4 Campus Dr", null));
+        int now = WeeklySchedule.currentMinuteOfWeek();
+
+        assertThat(spotCatalog.get(outside.getId(), now)).isNull();
+        assertThat(studySpotService.findDetail(outside.getId(), now).name).isEqualTo("Outside");
+        assertThat(studySpotService.findResponses(List.of(outside.getId(), cafe.getId()), now))
+                .containsOnlyKeys(outside.getId(), cafe.getId());
+
+        spotCatalog.load();
+        assertThat(spotCatalog.get(outside.getId(), now)).isNotNull();
+    }
+
+    private StudySpot spot(String name, Double lat, Double lng) {
+        StudySpot spot = new StudySpot(name, "1 Campus Dr", null);
+        spot.setLatitude(lat);
+        spot.setLongitude(lng);
+        spot.setHours(new ArrayList<>());
+        spot.getHours().add(new StudySpotHours(spot, 1, LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        return studySpotService.createSpot(spot);
+    }
+}
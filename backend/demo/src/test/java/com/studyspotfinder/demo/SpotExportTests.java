@@ -0,0 +1,128 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.studyspotfinder.controller.StudySpotController;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.StudySpotHours;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.service.FavoriteService;
+import com.studyspotfinder.service.ReviewService;
+import com.studyspotfinder.service.SpotImportService;
+import com.studyspotfinder.service.StudySpotService;
+
+import jakarta.persistence.EntityManagerFactory;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SpotExportTests {
+
+    @Autowired
+    private StudySpotController studySpotController;
+
+    @Autowired
+    private StudySpotService studySpotService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private List<StudySpot> spots;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        User user = userRepository.findByEmail("export@example.com").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("export");
+            u.setEmail("export@example.com");
+            u.setPasswordHash("hash");
+            return userRepository.save(u);
+        });
+
+        spots = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            StudySpot spot = new StudySpot("Spot " + i, i + " Campus Dr", "Desc " + i);
+            spot.setHours(new ArrayList<>(List.of(
+                    new StudySpotHours(spot, 1, LocalTime.of(9, 0), LocalTime.of(17, 0)))));
+            spots.add(studySpotService.createSpot(spot));
+        }
+        reviewService.submitReview(user, spots.get(0), 4, null);
+        reviewService.submitReview(user, spots.get(0), 2, null);
+        favoriteService.setFavorite(user.getId(), spots.get(0).getId(), true);
+        favoriteService.setFavorite(user.getId(), spots.get(3).getId(), true);
+    }
+
+    @Test
+    void exportsEverySpotAsOneLineFromASingleQuery() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(studySpotController).build();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String body = mvc.perform(get("/api/spots/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SpotImportService.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Spots, summaries and favorite counts in one statement; hours come from pre-rendered columns
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = body.lines().map(jsonMapper::readTree).toList();
+        assertThat(lines).hasSize(12);
+        assertThat(lines).extracting(n -> n.get("id").asLong())
+                .containsExactlyElementsOf(spots.stream().map(StudySpot::getId).toList());
+
+        JsonNode first = lines.get(0);
+        assertThat(first.get("name").asString()).isEqualTo("Spot 0");
+        assertThat(first.get("address").asString()).isEqualTo("0 Campus Dr");
+        assertThat(first.get("rating").asDouble()).isEqualTo(3.0);
+        assertThat(first.get("reviewCount").asInt()).isEqualTo(2);
+        assertThat(first.get("favoriteCount").asLong()).isEqualTo(1);
+        assertThat(first.get("hoursByDay").get("monday").get(0).asString()).isNotBlank();
+        assertThat(lines.get(1).get("rating").isNull()).isTrue();
+        assertThat(lines.get(3).get("favoriteCount").asLong()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.studyspotfinder.index.GeoHit;
+import com.studyspotfinder.index.SpotGeoIndex;
+
+class SpotGeoIndexTests {
+
+    private static final int SPOTS = 100_000;
+
+    private final double[] lats = new double[SPOTS];
+    private final double[] lngs = new double[SPOTS];
+    private SpotGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        index = new SpotGeoIndex(null);
+        // Roughly the Los Angeles basin
+        for (int i = 0; i < SPOTS; i++) {
+            lats[i] = 33.7 + random.nextDouble() * 0.6;
+            lngs[i] = -118.6 + random.nextDouble() * 0.8;
+            index.put(i, lats[i], lngs[i]);
+        }
+    }
+
+    @Test
+    void withinMatchesBruteForceAndIsOrderedByDistance() {
+        double minLat = 34.01, maxLat = 34.03, minLng = -118.30, maxLng = -118.27;
+        double cLat = (minLat + maxLat) / 2, cLng = (minLng + maxLng) / 2;
+
+        List<GeoHit> hits = index.within(minLat, maxLat, minLng, maxLng, cLat, cLng, SPOTS);
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < SPOTS; i++) {
+            if (lats[i] >= minLat && lats[i] <= maxLat && lngs[i] >= minLng && lngs[i] <= maxLng) {
+                expected.add((long) i);
+            }
+        }
+        assertThat(hits).extracting(GeoHit::getSpotId).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(hits).extracting(GeoHit::getDistanceMeters).isSorted();
+    }
+
+    @Test
+    void nearestReturnsClosestWithinRadius() {
+        double lat = 34.0205, lng = -118.2856;
+        double radius = 500;
+
+        List<GeoHit> hits = index.nearest(lat, lng, radius, 10);
+
+        List<Double> all = new ArrayList<>();
+        for (int i = 0; i < SPOTS; i++) {
+            double d = SpotGeoIndex.haversineMeters(lat, lng, lats[i], lngs[i]);
+            if (d <= radius) all.add(d);
+        }
+        all.sort(null);
+        assertThat(hits).extracting(GeoHit::getDistanceMeters)
+                .containsExactlyElementsOf(all.subList(0, Math.min(10, all.size())));
+    }
+
+    @Test
+    void zoomedOutViewportWalksOccupiedCellsOnly() {
+        List<GeoHit> hits = index.within(-90, 90, -180, 180, 34.0, -118.2, 5);
+
+        assertThat(hits).hasSize(5);
+        assertThat(index.size()).isEqualTo(SPOTS);
+    }
+
+    @Test
+    void puttingAnIndexedSpotAgainDoesNotRepeatIt() {
+        index.put(7, lats[7], lngs[7]);
+
+        assertThat(index.size()).isEqualTo(SPOTS);
+        assertThat(index.nearest(lats[7], lngs[7], 1, 5)).extracting(GeoHit::getSpotId).containsOnlyOnce(7L);
+    }
+
+    @Test
+    void notReadyUntilLoadedFromTheDatabase() {
+        // Incremental puts alone do not make the grid complete
+        assertThat(index.isReady()).isFalse();
+    }
+}
@@ -0,0 +1,167 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.studyspotfinder.controller.StudySpotController;
+import com.studyspotfinder.index.GeoHit;
+import com.studyspotfinder.index.OpenHoursIndex;
+import com.studyspotfinder.index.SpotGeoIndex;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.service.SpotImportService;
+import com.studyspotfinder.service.SpotImportService.ImportResult;
+
+// Small chunks so a few rows already span several batches
+@SpringBootTest(properties = "spots.import.chunk-size=3")
+class SpotImportTests {
+
+    @Autowired
+    private SpotImportService spotImportService;
+
+    @Autowired
+    private StudySpotController studySpotController;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private OpenHoursIndex openHoursIndex;
+
+    @Autowired
+    private SpotGeoIndex spotGeoIndex;
+
+    @BeforeEach
+    void clearSpots() {
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+    }
+
+    @Test
+    void ndjsonImportWritesValidRowsAndReportsBadOnesByLine() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            ndjson.append("{\"name\":\"Spot ").append(i).append("\",\"address\":\"").append(i)
+                    .append(" Main St\",\"latitude\":34.02,\"longitude\":-118.28,")
+                    .append("\"hours\":[{\"dayOfWeek\":1,\"openTime\":\"09:00\",\"closeTime\":\"17:00\"}]}\n");
+        }
+        ndjson.append("\n");                                             // line 8: blank, skipped
+        ndjson.append("{\"address\":\"No name\"}\n");                   // line 9
+        ndjson.append("{not json\n");                                    // line 10
+        ndjson.append("{\"name\":\"Bad hours\",\"address\":\"x\",\"hours\":[{\"dayOfWeek\":9,\"openTime\":\"09:00\",\"closeTime\":\"10:00\"}]}\n");
+
+        ImportResult result = spotImportService.importNdjson(stream(ndjson.toString()));
+
+        assertThat(result.getImported()).isEqualTo(7);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(SpotImportService.RowError::getLine).containsExactly(9, 10, 11);
+        assertThat(result.getErrors().get(0).getError()).isEqualTo("Name is required");
+
+        List<StudySpot> spots = studySpotRepository.findAllWithHoursByIdIn(
+                studySpotRepository.findAll().stream().map(StudySpot::getId).toList());
+        assertThat(spots).hasSize(7).allSatisfy(s -> {
+            assertThat(s.getHours()).hasSize(1);
+            assertThat(s.getHoursFormatted()).isNotBlank();
+            assertThat(s.getOpenSchedule().isEmpty()).isFalse();
+        });
+        // Indexes picked up the chunks; Monday 10:00 falls inside every imported interval
+        long[] ids = spots.stream().mapToLong(StudySpot::getId).toArray();
+        assertThat(openHoursIndex.openAt(24 * 60 + 10 * 60, 0)).contains(ids);
+        assertThat(spotGeoIndex.nearest(34.02, -118.28, 100, 20))
+                .extracting(GeoHit::getSpotId).containsAll(spots.stream().map(StudySpot::getId).toList());
+    }
+
+    @Test
+    void rowsTheDatabaseRefusesFailAloneWithAGenericMessage() throws Exception {
+        // Dozens of short openings a day: the compiled schedule would outgrow its column
+        StringBuilder hours = new StringBuilder();
+        for (int day = 0; day < 7; day++) {
+            for (int slot = 0; slot < 40; slot++) {
+                if (hours.length() > 0) hours.append(',');
+                hours.append(String.format("{\"dayOfWeek\":%d,\"openTime\":\"%02d:%02d\",\"closeTime\":\"%02d:%02d\"}",
+                        day, slot / 2, slot % 2 * 30, slot / 2, slot % 2 * 30 + 10));
+            }
+        }
+        String ndjson = "{\"name\":\"Fine\",\"address\":\"1 Main St\"}\n"
+                + "{\"name\":\"Fragmented\",\"address\":\"2 Main St\",\"hours\":[" + hours + "]}\n"
+                + "{\"name\":\"" + "x".repeat(256) + "\",\"address\":\"3 Main St\"}\n"
+                + "{\"name\":\"Refused\",\"address\":\"4 Main St\"}\n"
+                + "{\"name\":\"Also fine\",\"address\":\"5 Main St\"}\n";
+
+        // A constraint the import does not check for, standing in for any database-side refusal
+        jdbcTemplate.execute("alter table study_spots add constraint refuse_test_row check (name <> 'Refused')");
+        ImportResult result;
+        try {
+            result = spotImportService.importNdjson(stream(ndjson));
+        } finally {
+            jdbcTemplate.execute("alter table study_spots drop constraint refuse_test_row");
+        }
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(SpotImportService.RowError::getLine).containsExactly(2, 3, 4);
+        assertThat(result.getErrors()).extracting(SpotImportService.RowError::getError).containsExactly(
+                "hours have too many separate openings to store", "name must be at most 255 characters",
+                "Not imported: the row could not be saved");
+        assertThat(studySpotRepository.findAll()).extracting(StudySpot::getName).containsExactlyInAnyOrder("Fine", "Also fine");
+    }
+
+    @Test
+    void csvImportThroughTheEndpointHandlesQuotedFields() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(studySpotController).build();
+        String csv = "name,address,description,hours\n"
+                + "Library,\"1 Campus Dr, Room 2\",\"Quiet, with \"\"good\"\" chairs\nand outlets\",1=08:00-22:00;2=08:00-22:00\n"
+                + "Cafe,2 Campus Dr,,\n"
+                + ",3 Campus Dr,,\n"
+                + "Lab,4 Campus Dr,,1=25:00-26:00\n";
+
+        mvc.perform(post("/api/spots/import").contentType(SpotImportService.CSV).content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(5))
+                .andExpect(jsonPath("$.errors[1].line").value(6));
+
+        StudySpot library = studySpotRepository.findAll().stream()
+                .filter(s -> s.getName().equals("Library")).findFirst().orElseThrow();
+        assertThat(library.getAddress()).isEqualTo("1 Campus Dr, Room 2");
+        assertThat(library.getDescription()).isEqualTo("Quiet, with \"good\" chairs\nand outlets");
+    }
+
+    @Test
+    void csvWithoutRequiredColumnsIsRejected() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(studySpotController).build();
+
+        mvc.perform(post("/api/spots/import").contentType(SpotImportService.CSV).content("title,street\nA,B\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
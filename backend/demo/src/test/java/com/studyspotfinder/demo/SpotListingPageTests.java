@@ -0,0 +1,189 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.studyspotfinder.controller.ReviewController;
+import com.studyspotfinder.controller.StudySpotController;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.StudySpotHours;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.service.ReviewService;
+import com.studyspotfinder.service.StudySpotService;
+
+import jakarta.persistence.EntityManagerFactory;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SpotListingPageTests {
+
+    @Autowired
+    private StudySpotController studySpotController;
+
+    @Autowired
+    private StudySpotService studySpotService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private MockMvc mvc;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(studySpotController).build();
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        user = userRepository.findByEmail("pager@example.com").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("pager");
+            u.setEmail("pager@example.com");
+            u.setPasswordHash("hash");
+            return userRepository.save(u);
+        });
+    }
+
+    @Test
+    void keysetPagesByNameVisitEverySpotOnceWithConstantQueries() throws Exception {
+        // Repeated names exercise the id tie-break at page boundaries
+        for (int i = 0; i < 11; i++) spot("Room " + (char) ('A' + i % 4), "Library", true, null, null);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<String> names = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/spots").param("sort", "name").param("limit", "3");
+            if (cursor != null) request.param("cursor", cursor);
+            statistics.clear();
+            MockHttpServletResponse response = mvc.perform(request).andExpect(status().isOk()).andReturn().getResponse();
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+            for (JsonNode spot : jsonMapper.readTree(response.getContentAsString())) {
+                names.add(spot.get("name").asString());
+                ids.add(spot.get("id").asLong());
+            }
+            cursor = response.getHeader(ReviewController.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(4);
+        assertThat(ids).hasSize(11).doesNotHaveDuplicates();
+        assertThat(names).isSorted();
+    }
+
+    @Test
+    void openCafesRatedFourOrMoreBestFirst() throws Exception {
+        StudySpot great = spot("Bean There", "Cafe", true, null, null);
+        StudySpot good = spot("Grind", "Cafe", true, null, null);
+        StudySpot closed = spot("Night Owl", "Cafe", false, null, null);
+        StudySpot meh = spot("Drip", "Cafe", true, null, null);
+        StudySpot library = spot("Stacks", "Library", true, null, null);
+        review(great, 5, 5);
+        review(good, 4, 5);
+        review(closed, 5);
+        review(meh, 3, 4);
+        review(library, 5);
+
+        JsonNode body = list(get("/api/spots").param("openNow", "true").param("type", "Cafe")
+                .param("minRating", "4").param("sort", "rating"));
+
+        assertThat(body).hasSize(2);
+        assertThat(body.get(0).get("id").asLong()).isEqualTo(great.getId());
+        assertThat(body.get(1).get("id").asLong()).isEqualTo(good.getId());
+        assertThat(body.get(1).get("rating").asDouble()).isEqualTo(4.5);
+    }
+
+    @Test
+    void distanceSortSkipsSpotsWithoutCoordinates() throws Exception {
+        StudySpot far = spot("Far", "Library", true, 34.03, -118.28);
+        StudySpot near = spot("Near", "Library", true, 34.0205, -118.2856);
+        spot("Nowhere", "Library", true, null, null);
+
+        JsonNode body = list(get("/api/spots").param("sort", "distance").param("lat", "34.0205").param("lng", "-118.2855"));
+
+        assertThat(body).hasSize(2);
+        assertThat(body.get(0).get("id").asLong()).isEqualTo(near.getId());
+        assertThat(body.get(1).get("id").asLong()).isEqualTo(far.getId());
+        assertThat(body.get(0).get("distance").asDouble()).isLessThan(body.get(1).get("distance").asDouble());
+    }
+
+    @Test
+    void badPageParametersAreRejected() throws Exception {
+        spot("Only", "Library", true, null, null);
+        spot("Other", "Library", true, null, null);
+        String ratingCursor = mvc.perform(get("/api/spots").param("sort", "rating").param("limit", "1"))
+                .andReturn().getResponse().getHeader(ReviewController.NEXT_CURSOR_HEADER);
+
+        // A cursor only continues the sort it was issued for
+        assertThat(ratingCursor).isNotNull();
+        mvc.perform(get("/api/spots").param("sort", "name").param("cursor", ratingCursor)).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/spots").param("sort", "name").param("limit", "0")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/spots").param("sort", "distance")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/spots").param("minRating", "6")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/spots").param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/spots").param("sort", "popular").param("limit", "5")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode list(MockHttpServletRequestBuilder request) throws Exception {
+        return jsonMapper.readTree(mvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+    }
+
+    private StudySpot spot(String name, String type, boolean alwaysOpen, Double lat, Double lng) {
+        StudySpot spot = new StudySpot(name, "1 Campus Dr", null);
+        spot.setType(type);
+        spot.setLatitude(lat);
+        spot.setLongitude(lng);
+        spot.setHours(new ArrayList<>());
+        if (alwaysOpen) {
+            for (int day = 0; day < 7; day++) {
+                spot.getHours().add(new StudySpotHours(spot, day, LocalTime.MIDNIGHT, LocalTime.of(23, 59, 59)));
+            }
+        }
+        return studySpotService.createSpot(spot);
+    }
+
+    private void review(StudySpot spot, int... ratings) {
+        for (int rating : ratings) reviewService.submitReview(user, spot, rating, null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.studyspotfinder.controller.ReviewController;
+import com.studyspotfinder.controller.StudySpotController;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.StudySpotHours;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.service.StudySpotService;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+// Every open-id set is scanned for, one keyset batch per request
+@SpringBootTest(properties = {
+        "spots.listing.max-pushed-ids=0",
+        "spots.listing.max-filtered-batches=1"
+})
+class SpotListingScanLimitTests {
+
+    @Autowired
+    private StudySpotController studySpotController;
+
+    @Autowired
+    private StudySpotService studySpotService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(studySpotController).build();
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+    }
+
+    @Test
+    void aSelectiveFilterReturnsAShortPageWithACursorInsteadOfScanningOn() throws Exception {
+        // More closed spots than one batch reads, then the only open one
+        List<StudySpot> closed = new ArrayList<>();
+        for (int i = 0; i < 150; i++) closed.add(new StudySpot("Closed " + i, "1 Campus Dr", null));
+        studySpotRepository.saveAll(closed);
+        StudySpot open = new StudySpot("Open", "2 Campus Dr", null);
+        open.setHours(new ArrayList<>());
+        for (int day = 0; day < 7; day++) {
+            open.getHours().add(new StudySpotHours(open, day, LocalTime.MIDNIGHT, LocalTime.of(23, 59, 59)));
+        }
+        open = studySpotService.createSpot(open);
+
+        MockHttpServletResponse first = mvc.perform(get("/api/spots").param("openNow", "true").param("limit", "1"))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        String cursor = first.getHeader(ReviewController.NEXT_CURSOR_HEADER);
+        assertThat(jsonMapper.readTree(first.getContentAsString())).isEmpty();
+        assertThat(cursor).isNotNull();
+
+        MockHttpServletResponse second = mvc.perform(get("/api/spots").param("openNow", "true").param("limit", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        JsonNode body = jsonMapper.readTree(second.getContentAsString());
+        assertThat(body).hasSize(1);
+        assertThat(body.get(0).get("id").asLong()).isEqualTo(open.getId());
+        assertThat(second.getHeader(ReviewController.NEXT_CURSOR_HEADER)).isNull();
+    }
+}
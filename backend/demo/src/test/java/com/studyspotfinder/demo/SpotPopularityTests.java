@@ -0,0 +1,162 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.studyspotfinder.controller.StudySpotController;
+import com.studyspotfinder.index.SpotCatalog;
+import com.studyspotfinder.model.SpotPopularity;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.SpotPopularityRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.service.FavoriteService;
+import com.studyspotfinder.service.FavoriteWriteBehind;
+import com.studyspotfinder.service.ReviewService;
+import com.studyspotfinder.service.SpotPopularityService;
+
+// Scheduled flushes are pushed out of the way so each test decides when counters are written
+@SpringBootTest(properties = {
+        "spots.popularity.flush-interval=1h",
+        "spots.popularity.trending-half-life=1h"
+})
+class SpotPopularityTests {
+
+    @Autowired
+    private StudySpotController studySpotController;
+
+    @Autowired
+    private SpotPopularityService popularityService;
+
+    @Autowired
+    private SpotCatalog spotCatalog;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private FavoriteWriteBehind favoriteWriteBehind;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private SpotPopularityRepository popularityRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private MockMvc mvc;
+    private StudySpot quiet;
+    private StudySpot busy;
+    private StudySpot loved;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(studySpotController).build();
+        favoriteWriteBehind.flush();
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        popularityRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        quiet = studySpotRepository.save(new StudySpot("Quiet Room", "8 Campus Dr", null));
+        busy = studySpotRepository.save(new StudySpot("Busy Hall", "9 Campus Dr", null));
+        loved = studySpotRepository.save(new StudySpot("Loved Loft", "10 Campus Dr", null));
+        user = userRepository.findByEmail("ranker@example.com").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("ranker");
+            u.setEmail("ranker@example.com");
+            u.setPasswordHash("hash");
+            return userRepository.save(u);
+        });
+        popularityService.load();
+        // Spots were deleted and saved behind the catalog's back
+        spotCatalog.load();
+    }
+
+    @Test
+    void listingSortsByPopularAndTrending() throws Exception {
+        favoriteService.setFavorite(user.getId(), loved.getId(), true);
+        reviewService.submitReview(user, loved, 5, null);
+        for (int i = 0; i < 20; i++) {
+            mvc.perform(get("/api/spots/" + busy.getId())).andExpect(status().isOk());
+        }
+
+        assertThat(popularityService.viewCount(busy.getId())).isEqualTo(20);
+        assertThat(popularityService.popularScore(loved.getId())).isEqualTo(3);
+
+        mvc.perform(get("/api/spots").param("sort", "popular"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].name").value("Loved Loft"));
+        mvc.perform(get("/api/spots").param("sort", "trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Busy Hall"))
+                .andExpect(jsonPath("$[1].name").value("Loved Loft"))
+                .andExpect(jsonPath("$[2].name").value("Quiet Room"));
+        mvc.perform(get("/api/spots").param("sort", "newest"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void flushWritesChangedSpotsAndCountersSurviveARestart() {
+        long now = System.currentTimeMillis();
+        popularityService.recordView(quiet.getId());
+        popularityService.recordView(quiet.getId());
+        favoriteService.setFavorite(user.getId(), loved.getId(), true);
+
+        assertThat(popularityService.flush(now)).isEqualTo(2);
+        assertThat(popularityService.flush(now)).isZero();
+
+        SpotPopularity row = popularityRepository.findById(quiet.getId()).orElseThrow();
+        assertThat(row.getViewCount()).isEqualTo(2);
+        assertThat(row.getTrendingScore()).isEqualTo(2.0);
+
+        // Views come back from the counters table, favorites are recounted from their own table
+        favoriteWriteBehind.flush();
+        popularityService.load();
+        assertThat(popularityService.viewCount(quiet.getId())).isEqualTo(2);
+        assertThat(popularityService.favoriteCount(loved.getId())).isEqualTo(1);
+        assertThat(popularityService.trendingScore(quiet.getId(), now)).isEqualTo(2.0);
+    }
+
+    @Test
+    void trendingHalvesEveryHalfLife() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 8; i++) popularityService.recordView(busy.getId());
+        popularityService.flush(now);
+
+        long halfLife = Duration.ofHours(1).toMillis();
+        assertThat(popularityService.trendingScore(busy.getId(), now + halfLife)).isCloseTo(4.0, within(1e-9));
+        assertThat(popularityService.trendingScore(busy.getId(), now + 3 * halfLife)).isCloseTo(1.0, within(1e-9));
+        // All-time counts do not decay
+        assertThat(popularityService.viewCount(busy.getId())).isEqualTo(8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.studyspotfinder.controller.StudySpotController;
+import com.studyspotfinder.model.Review;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.service.RatingSummaryService;
+import com.studyspotfinder.service.ReviewService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// With the catalog on, detail reads of cataloged spots never reach this cache
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spots.catalog.enabled=false"
+})
+class SpotResponseCacheTests {
+
+    @Autowired
+    private StudySpotController studySpotController;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StudySpot spot;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        spot = studySpotRepository.save(new StudySpot("Quad", "3 Campus Dr", null));
+        user = userRepository.findByEmail("cache@example.com").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("cache");
+            u.setEmail("cache@example.com");
+            u.setPasswordHash("hash");
+            return userRepository.save(u);
+        });
+    }
+
+    @Test
+    void repeatedDetailReadsSkipTheDatabaseUntilAReviewArrives() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        assertThat(studySpotController.getSpotById(null, spot.getId(), null).getBody().reviewCount).isZero();
+
+        statistics.clear();
+        assertThat(studySpotController.getSpotById(null, spot.getId(), null).getBody().reviewCount).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        reviewService.submitReview(user, spot, 4, null);
+
+        assertThat(studySpotController.getSpotById(null, spot.getId(), null).getBody().reviewCount).isEqualTo(1);
+    }
+
+    @Test
+    void aRatingReconcileDropsCachedDetails() {
+        assertThat(studySpotController.getSpotById(null, spot.getId(), null).getBody().reviewCount).isZero();
+
+        // A review written behind the service's back is only counted by the reconcile
+        reviewRepository.save(new Review(user, spot, 2, null));
+        ratingSummaryService.rebuildAll();
+
+        assertThat(studySpotController.getSpotById(null, spot.getId(), null).getBody().rating).isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,59 @@
+package com.studyspotfinder.demo;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.studyspotfinder.controller.StudySpotController;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.service.StudySpotService;
+
+@SpringBootTest
+class SpotSearchEndpointTests {
+
+    @Autowired
+    private StudySpotController studySpotController;
+
+    @Autowired
+    private StudySpotService studySpotService;
+
+    @Test
+    void newSpotsAreSearchableAndDistanceReranks() throws Exception {
+        StudySpot far = create("Zephyr Reading Nook", 34.30, -118.50);
+        StudySpot near = create("Zephyr Reading Room Annex", 34.02, -118.28);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(studySpotController).build();
+
+        mvc.perform(get("/api/spots/search").param("q", "zeph"))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        // Text alone: the shorter name is the stronger match
+        mvc.perform(get("/api/spots/search").param("q", "zephyr reading"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(far.getId()));
+
+        mvc.perform(get("/api/spots/search").param("q", "zephyr reading").param("lat", "34.02").param("lng", "-118.28"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(near.getId()))
+                .andExpect(jsonPath("$[0].distance").value(0.0));
+
+        mvc.perform(get("/api/spots/search").param("q", "zephyr").param("lat", "34.02"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private StudySpot create(String name, double lat, double lng) {
+        StudySpot spot = new StudySpot(name, "1 Campus Dr", null);
+        spot.setLatitude(lat);
+        spot.setLongitude(lng);
+        spot.setHours(new ArrayList<>());
+        return studySpotService.createSpot(spot);
+    }
+}
@@ -0,0 +1,85 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.studyspotfinder.index.SearchHit;
+import com.studyspotfinder.index.SpotSearchIndex;
+import com.studyspotfinder.index.TextNormalizer;
+
+class SpotSearchIndexTests {
+
+    private SpotSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SpotSearchIndex(null);
+        index.put(1, "Doheny Memorial Library", "Library", "Grand reading room, very quiet", null);
+        index.put(2, "Café Dulce", "Cafe", "Pastries and coffee, a bit loud", "Outlets by the window");
+        index.put(3, "Leavey Library", "Library", "Open late, group rooms", "Quiet floor upstairs");
+        index.put(4, "Ground Zero Cafe", "Cafe", "Late-night coffee", null);
+        index.put(5, "Science Library", "Library", null, null);
+    }
+
+    @Test
+    void foldsCaseAndAccents() {
+        assertThat(TextNormalizer.tokenize("Café  DULCE-late!")).containsExactly("cafe", "dulce", "late");
+        assertThat(ids(index.search("CAFÉ", 10))).containsExactlyInAnyOrder(2L, 4L);
+    }
+
+    @Test
+    void nameMatchesOutrankDescriptionMatches() {
+        index.put(6, "Study Hall", "Lounge", "Next to the cafe", null);
+
+        List<Long> ids = ids(index.search("cafe", 10));
+        assertThat(ids).containsExactlyInAnyOrder(2L, 4L, 6L);
+        assertThat(ids.get(2)).isEqualTo(6L);
+    }
+
+    @Test
+    void lastTokenMatchesAsPrefixBelowTheExactWord() {
+        assertThat(ids(index.search("libr", 10))).containsExactlyInAnyOrder(1L, 3L, 5L);
+        // Quiet libraries match both tokens and come first
+        List<Long> ids = ids(index.search("quiet lib", 10));
+        assertThat(ids.subList(0, 2)).containsExactlyInAnyOrder(1L, 3L);
+        // Earlier tokens are whole words only
+        assertThat(index.search("libr quiet", 10)).extracting(SearchHit::getSpotId).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void incrementalAddsAcrossMergedSegmentsStayConsistent() {
+        for (int i = 10; i < 1010; i++) {
+            index.put(i, "Spot " + i, i % 2 == 0 ? "Library" : "Cafe", null, null);
+        }
+        assertThat(index.size()).isEqualTo(1005);
+        assertThat(index.search("library", 2000)).hasSize(503);
+        assertThat(ids(index.search("spot 777", 1))).containsExactly(777L);
+        assertThat(index.search("nonexistent", 10)).isEmpty();
+    }
+
+    @Test
+    void scoresDoNotDependOnWhichSegmentASpotLandedIn() {
+        // Put one at a time, so the long-named spot sits in a different segment each way round
+        SpotSearchIndex forward = new SpotSearchIndex(null);
+        SpotSearchIndex backward = new SpotSearchIndex(null);
+        for (int i = 1; i <= 7; i++) {
+            forward.put(i, name(i), "Library", null, null);
+            backward.put(8 - i, name(8 - i), "Library", null, null);
+        }
+
+        assertThat(backward.search("reading", 10)).usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(forward.search("reading", 10));
+    }
+
+    private static String name(int i) {
+        return i == 7 ? "Reading Room of the Old Graduate Commons Building" : "Reading Room " + i;
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getSpotId).toList();
+    }
+}
@@ -0,0 +1,167 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.studyspotfinder.controller.StudySpotController;
+import com.studyspotfinder.controller.StudySpotController.StudySpotResponse;
+import com.studyspotfinder.model.Review;
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.StudySpotHours;
+import com.studyspotfinder.model.User;
+import com.studyspotfinder.repository.FavoriteRepository;
+import com.studyspotfinder.repository.ReviewRepository;
+import com.studyspotfinder.repository.StudySpotRepository;
+import com.studyspotfinder.repository.UserRepository;
+import com.studyspotfinder.security.AuthenticatedUser;
+import com.studyspotfinder.service.FavoriteService;
+import com.studyspotfinder.service.RatingSummaryService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Counts the statements of the database listing path, so the in-memory catalog stays off
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spots.catalog.enabled=false"
+})
+class StudySpotListingQueryCountTests {
+
+    @Autowired
+    private StudySpotController studySpotController;
+
+    @Autowired
+    private StudySpotRepository studySpotRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User reviewer;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        favoriteRepository.deleteAll();
+        studySpotRepository.deleteAll();
+        reviewer = userRepository.findByEmail("reviewer@example.com").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("reviewer");
+            u.setEmail("reviewer@example.com");
+            u.setPasswordHash("hash");
+            return userRepository.save(u);
+        });
+    }
+
+    @Test
+    void listingStatementCountStaysFixedAsSpotCountGrows() {
+        seedSpots(3);
+        long smallCount = countStatements(() -> assertThat(studySpotController.getAllSpots(null, null, null, null, null, newWebRequest()).getBody()).hasSize(3));
+
+        seedSpots(40);
+        long largeCount = countStatements(() -> assertThat(studySpotController.getAllSpots(null, null, null, null, null, newWebRequest()).getBody()).hasSize(43));
+
+        assertThat(smallCount).isLessThanOrEqualTo(2);
+        assertThat(largeCount).isEqualTo(smallCount);
+    }
+
+    @Test
+    void listingCarriesHoursAndAverageRating() {
+        seedSpots(2);
+
+        List<StudySpotResponse> spots = studySpotController.getAllSpots(null, null, null, null, null, newWebRequest()).getBody();
+
+        assertThat(spots).allSatisfy(r -> {
+            assertThat(r.hours).isEqualTo("monday: 9am-5pm, tuesday: 9am-5pm");
+            assertThat(r.rating).isEqualTo(4.5);
+            assertThat(r.reviewCount).isEqualTo(2);
+            assertThat(r.ratingHistogram).containsExactly(0, 0, 0, 1, 1);
+        });
+    }
+
+    @Test
+    void favoriteFlagsAddAtMostTheFavoritesLookup() {
+        seedSpots(3);
+        List<StudySpotResponse> plain = studySpotController.getAllSpots(null, null, null, null, null, newWebRequest()).getBody();
+        favoriteService.setFavorite(reviewer.getId(), plain.get(1).id, true);
+        AuthenticatedUser user = new AuthenticatedUser(reviewer.getId(), reviewer.getUsername(), reviewer.getEmail());
+
+        long plainCount = countStatements(() -> studySpotController.getAllSpots(user, null, null, null, null, newWebRequest()));
+        List<StudySpotResponse> flagged = new ArrayList<>();
+        long flaggedCount = countStatements(() ->
+                flagged.addAll(studySpotController.getAllSpots(user, null, true, null, null, newWebRequest()).getBody()));
+
+        assertThat(flaggedCount).isEqualTo(plainCount);
+        assertThat(flagged).allSatisfy(r -> assertThat(r.isFavorite).isEqualTo(r.id.equals(plain.get(1).id)));
+        assertThat(studySpotController.getSpotById(user, plain.get(1).id, true).getBody().isFavorite).isTrue();
+        assertThat(studySpotController.getSpotById(user, plain.get(0).id, true).getBody().isFavorite).isFalse();
+        assertThat(studySpotController.getSpotById(user, plain.get(1).id, null).getBody().isFavorite).isNull();
+    }
+
+    @Test
+    void favoriteFlagsAreOnlyIncludedOnRequest() {
+        seedSpots(1);
+        AuthenticatedUser user = new AuthenticatedUser(reviewer.getId(), reviewer.getUsername(), reviewer.getEmail());
+
+        assertThat(studySpotController.getAllSpots(user, null, null, null, null, newWebRequest()).getBody())
+                .allSatisfy(r -> assertThat(r.isFavorite).isNull());
+    }
+
+    private static ServletWebRequest newWebRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/spots"), new MockHttpServletResponse());
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedSpots(int count) {
+        List<StudySpot> spots = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StudySpot spot = new StudySpot("Spot " + i, i + " University Ave", null);
+            spot.setHours(new ArrayList<>());
+            spot.getHours().add(new StudySpotHours(spot, 1, LocalTime.of(9, 0), LocalTime.of(17, 0)));
+            spot.getHours().add(new StudySpotHours(spot, 2, LocalTime.of(9, 0), LocalTime.of(17, 0)));
+            spot.compileHours();
+            spots.add(spot);
+        }
+        studySpotRepository.saveAll(spots);
+
+        List<Review> reviews = new ArrayList<>();
+        for (StudySpot spot : spots) {
+            reviews.add(new Review(reviewer, spot, 4, null));
+            reviews.add(new Review(reviewer, spot, 5, null));
+        }
+        reviewRepository.saveAll(reviews);
+        ratingSummaryService.rebuildAll();
+    }
+}
@@ -0,0 +1,88 @@
+package com.studyspotfinder.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.studyspotfinder.model.StudySpot;
+import com.studyspotfinder.model.StudySpotHours;
+import com.studyspotfinder.model.WeeklySchedule;
+
+class WeeklyScheduleTests {
+
+    private static final int DAY = WeeklySchedule.MINUTES_PER_DAY;
+
+    @Test
+    void sameDayHoursAreHalfOpen() {
+        WeeklySchedule schedule = WeeklySchedule.compile(List.of(hours(1, "09:00", "17:00")));
+
+        assertThat(schedule.isOpenAt(DAY + 9 * 60 - 1)).isFalse();
+        assertThat(schedule.isOpenAt(DAY + 9 * 60)).isTrue();
+        assertThat(schedule.isOpenAt(DAY + 17 * 60 - 1)).isTrue();
+        assertThat(schedule.isOpenAt(DAY + 17 * 60)).isFalse();
+        assertThat(schedule.isOpenAt(2 * DAY + 10 * 60)).isFalse();
+    }
+
+    @Test
+    void overnightRowSpillsIntoNextDay() {
+        WeeklySchedule schedule = WeeklySchedule.compile(List.of(hours(1, "22:00", "02:00")));
+
+        assertThat(schedule.isOpenAt(DAY + 23 * 60)).isTrue();
+        assertThat(schedule.isOpenAt(2 * DAY + 60)).isTrue();
+        assertThat(schedule.isOpenAt(2 * DAY + 2 * 60)).isFalse();
+        assertThat(schedule.isOpenAt(DAY + 60)).isFalse();
+    }
+
+    @Test
+    void saturdayNightWrapsToSundayMorning() {
+        WeeklySchedule schedule = WeeklySchedule.compile(List.of(hours(6, "20:00", "03:00")));
+
+        assertThat(schedule.isOpenAt(6 * DAY + 21 * 60)).isTrue();
+        assertThat(schedule.isOpenAt(2 * 60)).isTrue();
+        assertThat(schedule.isOpenAt(3 * 60)).isFalse();
+    }
+
+    @Test
+    void adjacentRowsMergeAndRoundTripThroughEncoding() {
+        WeeklySchedule schedule = WeeklySchedule.compile(List.of(
+                hours(2, "08:00", "12:00"), hours(2, "12:00", "18:00"), hours(3, "09:00", "00:00")));
+
+        assertThat(schedule.intervalCount()).isEqualTo(2);
+        assertThat(WeeklySchedule.decode(schedule.encode())).isEqualTo(schedule);
+        assertThat(WeeklySchedule.decode("")).isEqualTo(WeeklySchedule.EMPTY);
+    }
+
+    @Test
+    void minuteOfWeekUsesCampusTime() {
+        // 2024-01-08T17:30Z is Monday 09:30 in Los Angeles
+        ZonedDateTime instant = ZonedDateTime.parse("2024-01-08T17:30:00Z");
+
+        assertThat(WeeklySchedule.minuteOfWeek(instant)).isEqualTo(DAY + 9 * 60 + 30);
+    }
+
+    @Test
+    void compilingRejectsBadDaysAndSchedulesTooLongToStore() {
+        StudySpot spot = new StudySpot("Lab", "1 Campus Dr", null);
+        spot.setHours(new ArrayList<>(List.of(hours(7, "09:00", "17:00"))));
+        assertThatThrownBy(spot::compileHours).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("dayOfWeek must be between 0 (Sunday) and 6 (Saturday)");
+
+        spot.getHours().clear();
+        for (int minute = 0; minute < 24 * 60; minute += 4) {
+            LocalTime open = LocalTime.of(minute / 60, minute % 60);
+            spot.getHours().add(new StudySpotHours(spot, 1, open, open.plusMinutes(2)));
+        }
+        assertThatThrownBy(spot::compileHours).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("hours have too many separate openings to store");
+    }
+
+    private static StudySpotHours hours(int day, String open, String close) {
+        return new StudySpotHours(null, day, LocalTime.parse(open), LocalTime.parse(close));
+    }
+}